@@ -2,9 +2,11 @@ package com.ot.security;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchRestClientAutoConfiguration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// RestClient / Sniffer 는 ElasticsearchConfig 에서 직접 구성한다.
+@SpringBootApplication(exclude = ElasticsearchRestClientAutoConfiguration.class)
 @EnableScheduling
 public class OtSecurityApplication {
 
@@ -0,0 +1,17 @@
+package com.ot.security.cluster;
+
+import com.ot.security.sse.EventAttributes;
+import com.ot.security.sse.SseTopic;
+
+/**
+ * 인스턴스 간에 중계되는 SSE 이벤트
+ * @param id 발행 인스턴스에서 ClusterEventBus.nextEventId 로 발급한 이벤트 id (모든 인스턴스가 같은 id 로 전송 / 재전송)
+ * @param topic 발행 토픽
+ * @param event 이벤트 이름
+ * @param data 발행 시에는 원본 객체, 수신 시에는 JsonNode
+ * @param attributes 필터 구독자 라우팅용 속성
+ * @param publishedAt 원래 인스턴스에서의 발행 시각 (epoch ms)
+ */
+public record ClusterEvent(long id, SseTopic topic, String event, Object data, EventAttributes attributes,
+                           long publishedAt) {
+}
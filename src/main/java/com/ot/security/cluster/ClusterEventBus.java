@@ -0,0 +1,27 @@
+package com.ot.security.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 인스턴스 간 이벤트 버스
+ * - publish 한 이벤트는 다른 인스턴스의 listener 에게만 전달된다 (자기 자신에게는 되돌아오지 않는다).
+ * - 구현은 ot-security.cluster.bus 로 선택한다 (postgres / none).
+ */
+public interface ClusterEventBus {
+
+    /**
+     * 클러스터 전체에서 단조 증가하는 이벤트 id 발급 (Last-Event-ID 재전송 기준)
+     * - 발행 인스턴스에서 한 번만 발급하고, 중계되는 이벤트는 이 id 를 그대로 쓴다.
+     */
+    long nextEventId();
+
+    /**
+     * 다른 인스턴스로 이벤트 전송 (호출 스레드를 막지 않는다)
+     */
+    void publish(ClusterEvent event);
+
+    /**
+     * 다른 인스턴스에서 온 이벤트 수신 등록 (인스턴스별 이벤트 id 로 중복 제거된 뒤 전달된다)
+     */
+    void subscribe(Consumer<ClusterEvent> listener);
+}
@@ -0,0 +1,31 @@
+package com.ot.security.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 단일 인스턴스용 버스 (ot-security.cluster.bus=none, 아무것도 중계하지 않는다)
+ */
+@Component
+@ConditionalOnProperty(name = "ot-security.cluster.bus", havingValue = "none")
+public class LocalClusterEventBus implements ClusterEventBus {
+
+    // 재시작 후에도 이전 id 보다 커지도록 기동 시각 기준으로 시작
+    private final AtomicLong eventIds = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    @Override
+    public long nextEventId() {
+        return eventIds.incrementAndGet();
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> listener) {
+    }
+}
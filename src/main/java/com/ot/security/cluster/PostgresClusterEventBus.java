@@ -0,0 +1,340 @@
+package com.ot.security.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ot.security.sse.EventAttributes;
+import com.ot.security.sse.SseTopic;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL LISTEN / NOTIFY 기반 클러스터 이벤트 버스 (기본 구현)
+ * - 발행된 이벤트는 batch-interval 동안 모아 NOTIFY 페이로드 한도(8000 bytes) 안에서 한 번에 보낸다.
+ *   페이로드: {"origin": 인스턴스 id, "events": [{seq, id, topic, event, data, attributes, publishedAt}, ...]}
+ * - 수신 전용 커넥션 하나로 LISTEN 하고, 자기 인스턴스가 보낸 배치는 건너뛰며
+ *   origin:seq 로 최근 이벤트를 기억해 중복 전달을 막는다.
+ * - 이벤트 id 는 발행 인스턴스가 PostgreSQL sequence(채널명_event_id)에서 한 번 발급해 페이로드에 싣고,
+ *   모든 인스턴스가 같은 id 로 전송 / 재전송한다. 연결이 없는 동안에는 이 인스턴스 안에서만 증가하는 id 를 쓰고,
+ *   재연결 시 sequence 를 그보다 크게 맞춘다.
+ * - DataSource 가 PostgreSQL 이 아니면 (H2 등) 비활성 상태로 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ot-security.cluster.bus", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresClusterEventBus implements ClusterEventBus {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ot-security.cluster.channel:ot_sse_events}")
+    private String channel;
+
+    @Value("${ot-security.cluster.batch-interval:50}")
+    private long batchInterval;
+
+    @Value("${ot-security.cluster.max-payload-bytes:7900}")
+    private int maxPayloadBytes;
+
+    @Value("${ot-security.cluster.dedup-window:4096}")
+    private int dedupWindow;
+
+    @Value("${ot-security.cluster.reconnect-delay:5000}")
+    private long reconnectDelay;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    // 비활성 중 발급용 (재시작 후에도 이전 id 보다 커지도록 기동 시각 기준으로 시작)
+    private final AtomicLong localEventIds = new AtomicLong(System.currentTimeMillis() * 1000);
+    // 발급 / 수신한 가장 큰 이벤트 id
+    private final AtomicLong highestEventId = new AtomicLong();
+    private final Queue<ClusterEvent> outbox = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<ClusterEvent>> listeners = new CopyOnWriteArrayList<>();
+    // 수신 스레드에서만 접근
+    private Set<String> recentEvents;
+
+    private ScheduledExecutorService flusher;
+    private Thread receiver;
+    private volatile boolean active;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void init() {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("잘못된 클러스터 채널 이름: " + channel);
+        }
+        recentEvents = Collections.newSetFromMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > dedupWindow;
+            }
+        });
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-bus-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, batchInterval, batchInterval, TimeUnit.MILLISECONDS);
+
+        receiver = new Thread(this::listen, "cluster-bus-listen");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @PreDestroy
+    void close() {
+        running = false;
+        active = false;
+        flusher.shutdown();
+        receiver.interrupt();
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        // 수신 커넥션이 없는 동안에는 다른 인스턴스도 받을 수 없으므로 쌓지 않는다
+        if (active) {
+            outbox.add(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public long nextEventId() {
+        if (active) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT nextval('" + sequenceName() + "')")) {
+                result.next();
+                return observe(result.getLong(1));
+            } catch (SQLException e) {
+                log.warn("클러스터 이벤트 id 발급 실패, 로컬 id 사용: {}", e.getMessage());
+            }
+        }
+        return observe(localEventIds.updateAndGet(previous -> Math.max(previous, highestEventId.get()) + 1));
+    }
+
+    private long observe(long id) {
+        highestEventId.accumulateAndGet(id, Math::max);
+        return id;
+    }
+
+    private String sequenceName() {
+        return channel + "_event_id";
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("클러스터 이벤트 버스 비활성: PostgreSQL DataSource 가 아닙니다");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequenceName()
+                            + " START WITH " + localEventIds.get());
+                    statement.execute("LISTEN " + channel);
+                }
+                // 연결이 끊긴 동안 로컬에서 발급한 id 보다 작은 id 가 다시 나오지 않도록
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT setval('" + sequenceName() + "', GREATEST((SELECT last_value FROM "
+                                + sequenceName() + "), ?))")) {
+                    statement.setLong(1, highestEventId.get());
+                    statement.execute();
+                }
+                active = true;
+                log.info("클러스터 이벤트 버스 수신 시작: channel={}, instance={}", channel, instanceId);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            try {
+                                receive(notification.getParameter());
+                            } catch (RuntimeException e) {
+                                log.error("클러스터 이벤트 배치 처리 실패", e);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                active = false;
+                outbox.clear();
+                if (!running) {
+                    return;
+                }
+                log.warn("클러스터 이벤트 버스 연결 끊김, {}ms 후 재연결: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        JsonNode batch;
+        try {
+            batch = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("클러스터 이벤트 파싱 실패: {}", e.getMessage());
+            return;
+        }
+
+        String origin = batch.path("origin").asText();
+        if (instanceId.equals(origin)) {
+            return;
+        }
+        for (JsonNode node : batch.path("events")) {
+            if (!recentEvents.add(origin + ":" + node.path("seq").asLong())) {
+                continue;
+            }
+            ClusterEvent event;
+            try {
+                JsonNode attributes = node.get("attributes");
+                event = new ClusterEvent(
+                        observe(node.path("id").asLong()),
+                        SseTopic.valueOf(node.path("topic").asText()),
+                        node.path("event").asText(),
+                        node.get("data"),
+                        attributes == null || attributes.isNull()
+                                ? EventAttributes.UNKNOWN
+                                : objectMapper.treeToValue(attributes, EventAttributes.class),
+                        node.path("publishedAt").asLong(System.currentTimeMillis()));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                log.warn("클러스터 이벤트 처리 실패: {}", e.getMessage());
+                continue;
+            }
+            // 리스너 예외가 수신 스레드를 끝내지 않도록 이벤트 / 리스너 단위로 처리
+            for (Consumer<ClusterEvent> listener : listeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    log.error("클러스터 이벤트 리스너 실패: {} / {}", event.topic(), event.event(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 모인 이벤트를 페이로드 한도 안에서 배치로 묶어 NOTIFY
+     */
+    private void flush() {
+        if (outbox.isEmpty()) {
+            return;
+        }
+
+        String header = "{\"origin\":\"" + instanceId + "\",\"events\":[";
+        int overhead = header.length() + 2;
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder(header);
+        int currentBytes = overhead;
+        int count = 0;
+
+        ClusterEvent event;
+        while ((event = outbox.poll()) != null) {
+            String encoded;
+            try {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("seq", sequence.incrementAndGet());
+                entry.put("id", event.id());
+                entry.put("topic", event.topic());
+                entry.put("event", event.event());
+                entry.put("data", event.data());
+                entry.put("attributes", event.attributes());
+                entry.put("publishedAt", event.publishedAt());
+                encoded = objectMapper.writeValueAsString(entry);
+            } catch (JsonProcessingException e) {
+                log.error("클러스터 이벤트 인코딩 실패: {} / {}", event.topic(), event.event(), e);
+                continue;
+            }
+
+            int bytes = encoded.getBytes(StandardCharsets.UTF_8).length;
+            if (overhead + bytes > maxPayloadBytes) {
+                log.warn("클러스터 이벤트가 NOTIFY 한도를 넘어 중계하지 않습니다: {} / {} ({} bytes)",
+                        event.topic(), event.event(), bytes);
+                continue;
+            }
+            if (count > 0 && currentBytes + 1 + bytes > maxPayloadBytes) {
+                payloads.add(current.append("]}").toString());
+                current = new StringBuilder(header);
+                currentBytes = overhead;
+                count = 0;
+            }
+            if (count > 0) {
+                current.append(',');
+                currentBytes++;
+            }
+            current.append(encoded);
+            currentBytes += bytes;
+            count++;
+        }
+        if (count > 0) {
+            payloads.add(current.append("]}").toString());
+        }
+
+        sendNotifications(payloads);
+    }
+
+    private void sendNotifications(List<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        } catch (SQLException | RuntimeException e) {
+            // flush 는 예약 작업이라 예외가 나가면 이후 전송이 모두 멈춘다
+            log.warn("클러스터 이벤트 전송 실패 ({} 배치): {}", payloads.size(), e.getMessage());
+        }
+    }
+}
@@ -6,31 +6,134 @@ import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.client.Node;
 import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+import org.elasticsearch.client.sniff.ElasticsearchNodesSniffer;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Elasticsearch 클라이언트 설정
+ * - spring.elasticsearch.uris 에 콤마로 구분된 여러 노드를 지정하면 라운드로빈으로 분산되고,
+ *   실패한 노드는 RestClient 가 일시적으로 제외한 뒤 재시도한다.
+ * - 노드 sniffing 을 켜면 클러스터의 노드 목록을 주기적으로, 그리고 요청 실패 시 즉시 갱신한다.
+ */
 @Slf4j
 @Configuration
 public class ElasticsearchConfig {
 
     @Value("${spring.elasticsearch.uris}")
-    private String elasticsearchUri;
+    private String elasticsearchUris;
+
+    @Value("${spring.elasticsearch.username:}")
+    private String username;
+
+    @Value("${spring.elasticsearch.password:}")
+    private String password;
+
+    @Value("${spring.elasticsearch.connection-timeout:5s}")
+    private Duration connectionTimeout;
+
+    @Value("${spring.elasticsearch.socket-timeout:60s}")
+    private Duration socketTimeout;
+
+    @Value("${ot-security.elasticsearch.client.max-conn-per-route:30}")
+    private int maxConnPerRoute;
+
+    @Value("${ot-security.elasticsearch.client.max-conn-total:100}")
+    private int maxConnTotal;
+
+    @Value("${ot-security.elasticsearch.client.compression:true}")
+    private boolean compressionEnabled;
+
+    @Value("${ot-security.elasticsearch.client.keep-alive:60s}")
+    private Duration keepAlive;
+
+    @Value("${ot-security.elasticsearch.sniffer.enabled:false}")
+    private boolean snifferEnabled;
+
+    @Value("${ot-security.elasticsearch.sniffer.interval:5m}")
+    private Duration sniffInterval;
+
+    @Value("${ot-security.elasticsearch.sniffer.delay-after-failure:1m}")
+    private Duration sniffAfterFailureDelay;
+
+    private final SniffOnFailureListener sniffOnFailureListener = new SniffOnFailureListener();
 
     @Bean
     public RestClient restClient() {
-        log.info("Elasticsearch URI: {}", elasticsearchUri);
+        HttpHost[] hosts = parseHosts(elasticsearchUris);
+        log.info("Elasticsearch 노드: {} (sniffing: {})", Arrays.toString(hosts), snifferEnabled);
+
+        RestClientBuilder builder = RestClient.builder(hosts)
+                .setCompressionEnabled(compressionEnabled)
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout((int) connectionTimeout.toMillis())
+                        .setSocketTimeout((int) socketTimeout.toMillis()))
+                .setHttpClientConfigCallback(httpClient -> {
+                    httpClient
+                            .setMaxConnPerRoute(maxConnPerRoute)
+                            .setMaxConnTotal(maxConnTotal)
+                            .setKeepAliveStrategy((response, context) -> keepAlive.toMillis())
+                            .setDefaultIOReactorConfig(IOReactorConfig.custom()
+                                    .setSoKeepAlive(true)
+                                    .build());
+
+                    if (!username.isBlank() && !password.isBlank()) {
+                        BasicCredentialsProvider credentials = new BasicCredentialsProvider();
+                        credentials.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
+                        httpClient.setDefaultCredentialsProvider(credentials);
+                    }
+                    return httpClient;
+                });
 
-        // URI 파싱
-        String host = elasticsearchUri.replace("http://", "").replace("https://", "");
-        String[] parts = host.split(":");
-        String hostname = parts[0];
-        int port = parts.length > 1 ? Integer.parseInt(parts[1]) : 9200;
+        if (snifferEnabled) {
+            builder.setFailureListener(sniffOnFailureListener);
+        } else {
+            builder.setFailureListener(new RestClient.FailureListener() {
+                @Override
+                public void onFailure(Node node) {
+                    log.warn("Elasticsearch 노드 응답 실패, 일시적으로 제외: {}", node.getHost());
+                }
+            });
+        }
 
-        return RestClient.builder(
-                new HttpHost(hostname, port, "http")
-        ).build();
+        return builder.build();
+    }
+
+    /**
+     * 클러스터 노드 sniffer (요청 실패 시 즉시 재조회)
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "ot-security.elasticsearch.sniffer.enabled", havingValue = "true")
+    public Sniffer sniffer(RestClient restClient) {
+        HttpHost first = parseHosts(elasticsearchUris)[0];
+        ElasticsearchNodesSniffer.Scheme scheme = "https".equalsIgnoreCase(first.getSchemeName())
+                ? ElasticsearchNodesSniffer.Scheme.HTTPS
+                : ElasticsearchNodesSniffer.Scheme.HTTP;
+
+        Sniffer sniffer = Sniffer.builder(restClient)
+                .setSniffIntervalMillis((int) sniffInterval.toMillis())
+                .setSniffAfterFailureDelayMillis((int) sniffAfterFailureDelay.toMillis())
+                .setNodesSniffer(new ElasticsearchNodesSniffer(
+                        restClient, ElasticsearchNodesSniffer.DEFAULT_SNIFF_REQUEST_TIMEOUT, scheme))
+                .build();
+        sniffOnFailureListener.setSniffer(sniffer);
+        log.info("Elasticsearch 노드 sniffing 활성화 (주기: {})", sniffInterval);
+        return sniffer;
     }
 
     @Bean
@@ -47,4 +150,20 @@ public class ElasticsearchConfig {
         log.info("Elasticsearch Client 초기화 완료");
         return client;
     }
-}
\ No newline at end of file
+
+    /**
+     * "http://es1:9200,http://es2:9200" 형식의 URI 목록 파싱
+     */
+    private HttpHost[] parseHosts(String uris) {
+        return Arrays.stream(uris.split(","))
+                .map(String::trim)
+                .filter(uri -> !uri.isEmpty())
+                .map(uri -> uri.contains("://") ? uri : "http://" + uri)
+                .map(URI::create)
+                .map(uri -> new HttpHost(
+                        uri.getHost(),
+                        uri.getPort() > 0 ? uri.getPort() : 9200,
+                        uri.getScheme()))
+                .toArray(HttpHost[]::new);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ot.security.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Elasticsearch 필드명 변환
+ * - 템플릿 적용 전에 동적 매핑(text + keyword)으로 생성된 인덱스는 집계 가능한 필드가 ".keyword" 하위 필드뿐이고,
+ *   관리형 인덱스 템플릿도 집계 대상 문자열 필드를 같은 이름의 keyword 하위 필드에만 색인하므로 (상위 필드는 _source 전용)
+ *   기본 접미사 ".keyword" 로 기존 / 신규 인덱스를 함께 조회한다.
+ */
+@Component
+public class IndexFieldNames {
+
+    @Value("${ot-security.elasticsearch.keyword-suffix:.keyword}")
+    private String keywordSuffix;
+
+    /**
+     * term / terms 집계에 사용할 keyword 필드명
+     */
+    public String keyword(String field) {
+        return field + keywordSuffix;
+    }
+}
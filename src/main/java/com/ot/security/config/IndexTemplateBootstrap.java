@@ -0,0 +1,71 @@
+package com.ot.security.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Elasticsearch composable index template 설치
+ * - 패킷 / 위협 / rollup 인덱스의 매핑과 설정(keyword 타입, @timestamp 내림차순 index sort,
+ *   norms 비활성화, refresh interval)을 템플릿으로 고정한다.
+ * - 기동 직후 설치하고, Elasticsearch 가 아직 준비되지 않았으면 1분마다 재시도한다.
+ * - 템플릿은 이후 새로 생성되는 일별 인덱스부터 적용된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexTemplateBootstrap {
+
+    private static final int TEMPLATE_PRIORITY = 200;
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    @Value("${ot-security.elasticsearch.packet-index}")
+    private String packetIndex;
+
+    @Value("${ot-security.elasticsearch.threat-index}")
+    private String threatIndex;
+
+    @Value("${ot-security.elasticsearch.rollup-index:ics-rollup-packets}")
+    private String rollupIndex;
+
+    @Value("${ot-security.elasticsearch.manage-templates:true}")
+    private boolean manageTemplates;
+
+    private volatile boolean installed;
+
+    @Scheduled(initialDelay = 0, fixedDelay = 60000)
+    public void installTemplates() {
+        if (!manageTemplates || installed) {
+            return;
+        }
+
+        try {
+            putTemplate(packetIndex, packetIndex + "-*", "elasticsearch/packet-template.json");
+            putTemplate(threatIndex, threatIndex + "-*", "elasticsearch/threat-template.json");
+            putTemplate(rollupIndex, rollupIndex, "elasticsearch/rollup-template.json");
+            installed = true;
+            log.info("✅ Elasticsearch 인덱스 템플릿 설치 완료");
+        } catch (Exception e) {
+            log.warn("Elasticsearch 인덱스 템플릿 설치 실패 (1분 후 재시도): {}", e.getMessage());
+        }
+    }
+
+    private void putTemplate(String name, String pattern, String resource) throws Exception {
+        try (InputStream json = new ClassPathResource(resource).getInputStream()) {
+            elasticsearchClient.indices().putIndexTemplate(t -> t
+                    .name(name)
+                    .indexPatterns(pattern)
+                    .priority(TEMPLATE_PRIORITY)
+                    .template(tm -> tm.withJson(json))
+            );
+        }
+        log.debug("인덱스 템플릿 설치: {} → {}", name, pattern);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ot.security.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * SSE 스트림용 비동기 요청 설정
+ * - 구독 스트림은 ot-security.sse.timeout 이 지나면 스스로 종료하므로,
+ *   서블릿 비동기 타임아웃은 그보다 길게 잡아 정상 종료가 먼저 일어나도록 한다.
+ * - 구독자 큐의 이벤트를 응답에 쓰는 작업은 고정 크기 writer 풀에서 실행한다.
+ */
+@Configuration
+public class SseConfig implements WebMvcConfigurer {
+
+    @Value("${ot-security.sse.timeout}")
+    private long sseTimeout;
+
+    @Value("${ot-security.sse.heartbeat}")
+    private long heartbeatInterval;
+
+    @Value("${ot-security.sse.writer-threads:16}")
+    private int writerThreads;
+
+    private ThreadPoolTaskExecutor writerExecutor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        writerExecutor = new ThreadPoolTaskExecutor();
+        writerExecutor.setCorePoolSize(writerThreads);
+        writerExecutor.setMaxPoolSize(writerThreads);
+        writerExecutor.setThreadNamePrefix("sse-writer-");
+        writerExecutor.setDaemon(true);
+        writerExecutor.initialize();
+
+        configurer.setTaskExecutor(writerExecutor);
+        configurer.setDefaultTimeout(sseTimeout + heartbeatInterval);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writerExecutor != null) {
+            writerExecutor.shutdown();
+        }
+    }
+}
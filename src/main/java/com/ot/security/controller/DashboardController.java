@@ -3,9 +3,12 @@ package com.ot.security.controller;
 import com.ot.security.dto.DashboardStatsDTO;
 import com.ot.security.dto.SummaryMetricsDTO;
 import com.ot.security.dto.SystemMetricsDTO;
+import com.ot.security.service.ElasticsearchGuard;
 import com.ot.security.service.ElasticsearchService;
+import com.ot.security.service.HeavyHitterTracker;
 import com.ot.security.service.SummaryMetricsService;
 import com.ot.security.service.SystemMetricsService;
+import com.ot.security.service.UniqueSourceTracker;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +16,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -28,14 +35,28 @@ public class DashboardController {
     private final ElasticsearchService elasticsearchService;
     private final SystemMetricsService systemMetricsService;
     private final SummaryMetricsService summaryMetricsService;
+    private final ElasticsearchGuard elasticsearchGuard;
+    private final UniqueSourceTracker uniqueSourceTracker;
+    private final HeavyHitterTracker heavyHitterTracker;
 
     @GetMapping("/stats")
-    @Operation(summary = "대시보드 통계 조회", description = "전체 시스템 통계 및 실시간 데이터를 조회합니다.")
-    public ResponseEntity<DashboardStatsDTO> getDashboardStats() {
+    @Operation(summary = "대시보드 통계 조회", description = "전체 시스템 통계 및 실시간 데이터를 조회합니다. window(5m/1h/24h/7d)는 Top-N 공격자/대상 IP 구간입니다.")
+    public ResponseEntity<DashboardStatsDTO> getDashboardStats(
+            @RequestParam(defaultValue = "24h") String window) {
+        Duration topWindow;
         try {
+            topWindow = HeavyHitterTracker.parseWindow(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            elasticsearchGuard.resetStaleness();
+
             // 전체 통계
             long totalPackets = elasticsearchService.getTotalPackets();
             long totalThreats = elasticsearchService.getTotalThreats();
+            long totalBytes = elasticsearchService.getTotalBytes();
             
             // 최근 5분 통계
             long recentPackets = elasticsearchService.countRecentPackets(5);
@@ -46,8 +67,8 @@ public class DashboardController {
             var threatsByLevel = elasticsearchService.aggregateThreatsByLevel();
             var threatsByType = elasticsearchService.aggregateThreatsByType();
             var packetsByProtocol = elasticsearchService.aggregatePacketsByProtocol();
-            var topAttackerIps = elasticsearchService.getTopAttackerIps(5);
-            var topTargetIps = elasticsearchService.getTopTargetIps(5);
+            var topAttackerIps = heavyHitterTracker.topCounts(HeavyHitterTracker.Dimension.SOURCE, topWindow, 5);
+            var topTargetIps = heavyHitterTracker.topCounts(HeavyHitterTracker.Dimension.TARGET, topWindow, 5);
             
             // 시스템 메트릭 조회
             SystemMetricsDTO metrics = systemMetricsService.getLatestMetrics();
@@ -61,10 +82,12 @@ public class DashboardController {
                 systemStatus = "warning";
             }
 
+            ElasticsearchGuard.Staleness staleness = elasticsearchGuard.drainStaleness();
+
             DashboardStatsDTO stats = DashboardStatsDTO.builder()
                 .totalPackets(totalPackets)
                 .totalThreats(totalThreats)
-                .totalBytes(0L)  // TODO: 실제 bytes 집계
+                .totalBytes(totalBytes)
                 .recentPackets(recentPackets)
                 .recentThreats(recentThreats)
                 .packetsPerSecond(packetsPerSecond)
@@ -84,6 +107,8 @@ public class DashboardController {
                 .anomalyWeek(summaryMetrics.getAnomalyWeek())
                 .newIpCount(summaryMetrics.getNewIpCount())
                 .lastUpdate(Instant.now().toString())
+                .stale(staleness.stale())
+                .dataAgeMs(staleness.dataAgeMs())
                 .build();
             
             return ResponseEntity.ok(stats);
@@ -93,4 +118,45 @@ public class DashboardController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @GetMapping("/unique-sources")
+    @Operation(summary = "고유 출발지 IP 수 조회",
+            description = "5분/1시간/24시간/7일 고유 출발지 IP 수(HyperLogLog 추정치와 95% 오차 범위)를 조회합니다. minutes 를 지정하면 Elasticsearch cardinality 집계 결과를 함께 반환합니다.")
+    public ResponseEntity<Map<String, Object>> getUniqueSources(
+            @RequestParam(required = false) Integer minutes) {
+        try {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("windows", uniqueSourceTracker.estimateAll());
+
+            if (minutes != null && minutes > 0) {
+                Map<String, Object> adHoc = new LinkedHashMap<>();
+                adHoc.put("window", minutes + "m");
+                adHoc.put("count", elasticsearchService.countUniqueSourceIps(minutes));
+                adHoc.put("source", "elasticsearch-cardinality");
+                response.put("adHoc", adHoc);
+            }
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("고유 출발지 IP 수 조회 실패", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/top-talkers")
+    @Operation(summary = "Top-N 공격자/대상 IP 조회",
+            description = "최근 window(5m/1h/24h/7d) 동안 위협 출발지 IP, 목적지 IP, (출발지, 목적지) 쌍의 빈도 상위 항목을 조회합니다. count 는 상한, count - error 는 하한입니다.")
+    public ResponseEntity<Map<String, Object>> getTopTalkers(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            Duration duration = HeavyHitterTracker.parseWindow(window);
+            return ResponseEntity.ok(heavyHitterTracker.summary(duration, Math.min(Math.max(limit, 1), 100)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Top-N IP 조회 실패", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 }
@@ -1,17 +1,21 @@
 package com.ot.security.controller;
 
 import com.ot.security.entity.Packet;
+import com.ot.security.service.BulkIndexingService;
 import com.ot.security.service.ElasticsearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -21,6 +25,7 @@ import java.util.List;
 public class PacketController {
 
     private final ElasticsearchService elasticsearchService;
+    private final BulkIndexingService bulkIndexingService;
 
     @GetMapping
     @Operation(summary = "패킷 목록 조회", description = "페이징된 패킷 목록을 조회합니다.")
@@ -40,4 +45,25 @@ public class PacketController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "패킷 대량 색인", description = "NDJSON(한 줄에 패킷 문서 하나) 본문을 일별 패킷 인덱스에 bulk 색인합니다. 모든 줄이 거부되면 400 을 반환합니다.")
+    public ResponseEntity<Map<String, Object>> bulkIndexPackets(HttpServletRequest request) {
+        try {
+            Map<String, Object> result = bulkIndexingService.ingestPackets(request.getInputStream());
+            if ((long) result.get("accepted") == 0 && (long) result.get("rejected") > 0) {
+                return ResponseEntity.badRequest().body(result);
+            }
+            return ResponseEntity.accepted().body(result);
+        } catch (IOException e) {
+            log.error("패킷 대량 색인 실패", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/bulk/stats")
+    @Operation(summary = "패킷 대량 색인 통계", description = "기동 이후 누적 색인 / 실패 건수와 대기 중인 bulk 요청 수를 조회합니다.")
+    public ResponseEntity<Map<String, Object>> getBulkStats() {
+        return ResponseEntity.ok(bulkIndexingService.getStats());
+    }
 }
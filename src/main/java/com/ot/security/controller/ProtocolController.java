@@ -1,5 +1,6 @@
 package com.ot.security.controller;
 
+import com.ot.security.dto.ProtocolSeriesDTO;
 import com.ot.security.service.ElasticsearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -51,7 +52,7 @@ public class ProtocolController {
     @Operation(summary = "7일간 프로토콜 분포", description = "최근 7일간의 일별 프로토콜 분포를 조회합니다.")
     public ResponseEntity<Map<String, Object>> getWeeklyProtocolDistribution() {
         try {
-            List<Map<String, Object>> weeklyData = elasticsearchService.getWeeklyProtocolDistribution();
+            ProtocolSeriesDTO weeklyData = elasticsearchService.getWeeklyProtocolDistribution();
             if (weeklyData == null || weeklyData.isEmpty()) {
                 return ResponseEntity.ok(Map.of(
                         "mode", "dummy",
@@ -1,15 +1,24 @@
 package com.ot.security.controller;
 
 import com.ot.security.service.SSEService;
+import com.ot.security.sse.SseFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -20,24 +29,83 @@ public class SSEController {
 
     private final SSEService sseService;
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "다중 채널 스트림",
+            description = "channels (general, threats, stats, stats-delta 중 쉼표 구분) 의 이벤트를 하나의 연결로 중복 없이 구독합니다. "
+                    + "Last-Event-ID 재전송과 severity / engine / asset / cidr / type 필터는 general / threats 채널에 적용됩니다.")
+    public ResponseEntity<Flux<ServerSentEvent<byte[]>>> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(defaultValue = "general,threats,stats") List<String> channels,
+            @RequestParam(required = false) List<String> severity,
+            @RequestParam(required = false) List<String> engine,
+            @RequestParam(required = false) List<String> asset,
+            @RequestParam(required = false) List<String> cidr,
+            @RequestParam(required = false) List<String> type) {
+        try {
+            SseFilter filter = sseService.createThreatFilter(severity, engine, asset, cidr, type);
+            Flux<ServerSentEvent<byte[]>> events = sseService.subscribeChannels(channels, lastEventId, filter);
+            log.info("다중 채널 SSE 연결 요청 (채널: {}, Last-Event-ID: {}, 필터: {})", channels, lastEventId, filter);
+            return ResponseEntity.ok(events);
+        } catch (IllegalArgumentException e) {
+            log.warn("다중 채널 SSE 요청 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "SSE 구독", description = "실시간 이벤트 스트림을 구독합니다.")
-    public SseEmitter subscribe() {
-        log.info("SSE 연결 요청");
-        return sseService.createEmitter();
+    @Operation(summary = "SSE 구독",
+            description = "실시간 이벤트 스트림을 구독합니다. Last-Event-ID 로 재연결하면 그 이후 이벤트를 먼저 재전송합니다.")
+    public Flux<ServerSentEvent<byte[]>> subscribe(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("SSE 연결 요청 (Last-Event-ID: {})", lastEventId);
+        return sseService.subscribe(lastEventId);
     }
 
     @GetMapping(value = "/threats", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "위협 이벤트 스트림", description = "실시간 위협 이벤트만 구독합니다.")
-    public SseEmitter subscribeThreats() {
-        log.info("위협 이벤트 SSE 연결 요청");
-        return sseService.createThreatEmitter();
+    @Operation(summary = "위협 이벤트 스트림",
+            description = "실시간 위협 이벤트만 구독합니다. Last-Event-ID 로 재연결하면 그 이후 이벤트를 먼저 재전송합니다. "
+                    + "severity / engine / asset / cidr / type (쉼표 구분) 을 지정하면 일치하는 이벤트만 서버에서 골라 전송합니다.")
+    public ResponseEntity<Flux<ServerSentEvent<byte[]>>> subscribeThreats(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) List<String> severity,
+            @RequestParam(required = false) List<String> engine,
+            @RequestParam(required = false) List<String> asset,
+            @RequestParam(required = false) List<String> cidr,
+            @RequestParam(required = false) List<String> type) {
+        SseFilter filter;
+        try {
+            filter = sseService.createThreatFilter(severity, engine, asset, cidr, type);
+        } catch (IllegalArgumentException e) {
+            log.warn("위협 이벤트 SSE 필터 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("위협 이벤트 SSE 연결 요청 (Last-Event-ID: {}, 필터: {})", lastEventId, filter);
+        return ResponseEntity.ok(sseService.subscribeThreats(lastEventId, filter));
     }
 
     @GetMapping(value = "/stats", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    @Operation(summary = "통계 스트림", description = "실시간 통계 데이터를 구독합니다.")
-    public SseEmitter subscribeStats() {
-        log.info("통계 SSE 연결 요청");
-        return sseService.createStatsEmitter();
+    @Operation(summary = "통계 스트림",
+            description = "실시간 통계 데이터를 구독합니다. delta=true 이면 연결 시 stats-snapshot({seq, data}) 1회 후 변경된 필드만 stats-delta({seq, patch}, JSON Merge Patch)로 전송합니다.")
+    public Flux<ServerSentEvent<byte[]>> subscribeStats(
+            @RequestParam(defaultValue = "false") boolean delta) {
+        log.info("통계 SSE 연결 요청 (delta: {})", delta);
+        return sseService.subscribeStats(delta);
+    }
+
+    @GetMapping("/admin/subscribers")
+    @Operation(summary = "SSE 구독자 현황",
+            description = "연결된 SSE 구독자별 채널, 전송 큐 길이, 가장 오래 대기한 이벤트 시간, 밀린 이벤트 수, 전송량을 조회합니다.")
+    public ResponseEntity<Map<String, Object>> getSubscribers() {
+        try {
+            List<Map<String, Object>> subscribers = sseService.getSubscriberSnapshots();
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("count", subscribers.size());
+            response.put("lastEventId", sseService.getLastEventId());
+            response.put("subscribers", subscribers);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("SSE 구독자 현황 조회 실패", e);
+            return ResponseEntity.internalServerError().build();
+        }
     }
 }
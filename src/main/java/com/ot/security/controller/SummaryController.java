@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RestController
@@ -30,7 +32,9 @@ public class SummaryController {
     @GetMapping("/metrics")
     @Operation(summary = "요약 지표 조회", description = "요약관리 탭에 필요한 핵심 통계를 반환합니다.")
     public ResponseEntity<SummaryMetricsDTO> getSummaryMetrics() {
-        return ResponseEntity.ok(summaryMetricsService.getSummaryMetrics());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(summaryMetricsService.getMaxAgeMillis(), TimeUnit.MILLISECONDS))
+                .body(summaryMetricsService.getSummaryMetrics());
     }
 
     @PutMapping("/metrics")
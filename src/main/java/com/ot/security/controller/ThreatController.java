@@ -2,6 +2,7 @@ package com.ot.security.controller;
 
 import com.ot.security.entity.Threat;
 import com.ot.security.entity.ThreatEvent;
+import com.ot.security.event.ThreatStatusChangedEvent;
 import com.ot.security.repository.ThreatRepository;
 import com.ot.security.service.ThreatMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +10,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +30,7 @@ public class ThreatController {
 
     private final ThreatRepository threatRepository;
     private final ThreatMapper threatMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping
     @Operation(summary = "위협 이벤트 목록 조회", description = "페이징된 위협 이벤트 목록을 조회합니다.")
@@ -81,8 +84,10 @@ public class ThreatController {
 
         // Map English status to Korean for consistency
         String mappedStatus = mapStatusToKorean(status);
+        String previousStatus = threat.getStatus();
         threat.setStatus(mappedStatus);
-        threatRepository.save(threat);
+        Threat saved = threatRepository.save(threat);
+        eventPublisher.publishEvent(new ThreatStatusChangedEvent(saved, previousStatus));
 
         log.info("위협 상태 업데이트: {} -> {} ({})", threatId, status, mappedStatus);
         return ResponseEntity.ok().build();
@@ -1,5 +1,8 @@
 package com.ot.security.controller;
 
+import com.ot.security.dto.CountSeriesDTO;
+import com.ot.security.dto.HourlyAverageDTO;
+import com.ot.security.dto.TrafficSeriesDTO;
 import com.ot.security.repository.AssetRepository;
 import com.ot.security.service.ElasticsearchService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,13 +34,13 @@ public class TrafficController {
             Map<String, Object> response = new HashMap<>();
 
             // 24시간 트래픽 데이터
-            List<Map<String, Object>> currentTraffic = elasticsearchService.getHourlyTrafficData();
+            TrafficSeriesDTO currentTraffic = elasticsearchService.getHourlyTrafficData();
 
             // 24시간 위협 데이터
-            List<Map<String, Object>> threatData = elasticsearchService.getHourlyThreatData();
+            CountSeriesDTO threatData = elasticsearchService.getHourlyThreatData();
 
             // 7일 평균 트래픽 데이터
-            List<Map<String, Object>> averageTraffic = elasticsearchService.getWeeklyAverageTraffic();
+            HourlyAverageDTO averageTraffic = elasticsearchService.getWeeklyAverageTraffic();
 
             response.put("current", currentTraffic);
             response.put("threats", threatData);
@@ -52,10 +55,10 @@ public class TrafficController {
 
     @GetMapping("/hourly")
     @Operation(summary = "시간대별 트래픽 조회", description = "최근 24시간 시간대별 트래픽 데이터를 조회합니다.")
-    public ResponseEntity<List<Map<String, Object>>> getHourlyTraffic() {
+    public ResponseEntity<TrafficSeriesDTO> getHourlyTraffic() {
         log.info("=== 시간대별 트래픽 API 호출됨 ===");
         try {
-            List<Map<String, Object>> data = elasticsearchService.getHourlyTrafficData();
+            TrafficSeriesDTO data = elasticsearchService.getHourlyTrafficData();
             log.info("트래픽 데이터 반환: {} 건", data.size());
             return ResponseEntity.ok(data);
         } catch (IOException e) {
@@ -66,9 +69,9 @@ public class TrafficController {
 
     @GetMapping("/average")
     @Operation(summary = "7일 평균 트래픽 조회", description = "최근 7일간의 시간대별 평균 트래픽 데이터를 조회합니다.")
-    public ResponseEntity<List<Map<String, Object>>> getAverageTraffic() {
+    public ResponseEntity<HourlyAverageDTO> getAverageTraffic() {
         try {
-            List<Map<String, Object>> data = elasticsearchService.getWeeklyAverageTraffic();
+            HourlyAverageDTO data = elasticsearchService.getWeeklyAverageTraffic();
             return ResponseEntity.ok(data);
         } catch (IOException e) {
             log.error("7일 평균 트래픽 조회 실패", e);
@@ -0,0 +1,78 @@
+package com.ot.security.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 시각별 건수 시계열 (시각 / 건수를 primitive 배열로 보관)
+ * - JSON 은 [{<timeField>: "...", count: n}, ...] 형식으로 직접 기록한다.
+ */
+@JsonSerialize(using = CountSeriesDTO.Serializer.class)
+public class CountSeriesDTO {
+
+    private final String timeField;
+    private final TimeKeyFormat timeFormat;
+    private long[] timestamps;
+    private long[] counts;
+    private int size;
+    private long total;
+
+    /**
+     * @param timeField 시각 필드 이름 ("time", "timestamp")
+     * @param timeFormat 시각 문자열 형식
+     */
+    public CountSeriesDTO(String timeField, TimeKeyFormat timeFormat, int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        this.timeField = timeField;
+        this.timeFormat = timeFormat;
+        this.timestamps = new long[capacity];
+        this.counts = new long[capacity];
+    }
+
+    public void add(long timestamp, long count) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        timestamps[size] = timestamp;
+        counts[size] = count;
+        size++;
+        total += count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public static class Serializer extends StdSerializer<CountSeriesDTO> {
+
+        public Serializer() {
+            super(CountSeriesDTO.class);
+        }
+
+        @Override
+        public void serialize(CountSeriesDTO series, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(series, series.size);
+            for (int i = 0; i < series.size; i++) {
+                gen.writeStartObject();
+                gen.writeStringField(series.timeField, series.timeFormat.format(series.timestamps[i]));
+                gen.writeNumberField("count", series.counts[i]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
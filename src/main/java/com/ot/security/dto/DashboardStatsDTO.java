@@ -54,4 +54,8 @@ public class DashboardStatsDTO {
     
     // 타임스탬프
     private String lastUpdate;
+
+    // Elasticsearch 장애 시 마지막 정상 값으로 대체되었는지 여부와 그 데이터의 나이
+    private Boolean stale;
+    private Long dataAgeMs;
 }
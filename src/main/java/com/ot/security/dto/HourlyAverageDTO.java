@@ -0,0 +1,52 @@
+package com.ot.security.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 시간대(0~23시)별 평균 트래픽
+ * - JSON 은 기존 형식 그대로 [{hour, value, bps, pps}, ...] 24건을 직접 기록한다.
+ */
+@JsonSerialize(using = HourlyAverageDTO.Serializer.class)
+public class HourlyAverageDTO {
+
+    public static final int HOURS = 24;
+
+    private final double[] mbps = new double[HOURS];
+    private final double[] bps = new double[HOURS];
+    private final double[] pps = new double[HOURS];
+
+    /**
+     * @param mbps 차트 표시값 (value)
+     */
+    public void set(int hour, double mbps, double bps, double pps) {
+        this.mbps[hour] = mbps;
+        this.bps[hour] = bps;
+        this.pps[hour] = pps;
+    }
+
+    public static class Serializer extends StdSerializer<HourlyAverageDTO> {
+
+        public Serializer() {
+            super(HourlyAverageDTO.class);
+        }
+
+        @Override
+        public void serialize(HourlyAverageDTO average, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(average, HOURS);
+            for (int hour = 0; hour < HOURS; hour++) {
+                gen.writeStartObject();
+                gen.writeNumberField("hour", hour);
+                gen.writeNumberField("value", average.mbps[hour]);
+                gen.writeNumberField("bps", average.bps[hour]);
+                gen.writeNumberField("pps", average.pps[hour]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ot.security.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일별 프로토콜 분포 시계열
+ * - 프로토콜 이름은 한 번만 보관하고(사전), 일별 건수는 프로토콜 순번으로 primitive 배열에 보관한다.
+ * - JSON 은 기존 형식 그대로 [{date, timestamp, protocols: {name: count}, total}, ...] 로 직접 기록한다.
+ */
+@JsonSerialize(using = ProtocolSeriesDTO.Serializer.class)
+public class ProtocolSeriesDTO {
+
+    private final List<String> protocolNames = new ArrayList<>();
+    private final Map<String, Integer> protocolIndexes = new HashMap<>();
+    private long[] timestamps;
+    private long[] totals;
+    private long[][] counts;
+    private int size;
+
+    public ProtocolSeriesDTO() {
+        this(7);
+    }
+
+    public ProtocolSeriesDTO(int expectedDays) {
+        int capacity = Math.max(expectedDays, 1);
+        timestamps = new long[capacity];
+        totals = new long[capacity];
+        counts = new long[capacity][];
+    }
+
+    /**
+     * 일 버킷 추가
+     * @return 추가된 일 버킷 순번 (addProtocol 에 사용)
+     */
+    public int addDay(long timestamp, long total) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            totals = Arrays.copyOf(totals, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        timestamps[size] = timestamp;
+        totals[size] = total;
+        counts[size] = new long[Math.max(protocolNames.size(), 4)];
+        return size++;
+    }
+
+    public void addProtocol(int day, String protocol, long count) {
+        int index = protocolIndexes.computeIfAbsent(protocol, name -> {
+            protocolNames.add(name);
+            return protocolNames.size() - 1;
+        });
+        if (index >= counts[day].length) {
+            counts[day] = Arrays.copyOf(counts[day], Math.max(index + 1, counts[day].length * 2));
+        }
+        counts[day][index] += count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public static class Serializer extends StdSerializer<ProtocolSeriesDTO> {
+
+        public Serializer() {
+            super(ProtocolSeriesDTO.class);
+        }
+
+        @Override
+        public void serialize(ProtocolSeriesDTO series, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(series, series.size);
+            for (int day = 0; day < series.size; day++) {
+                gen.writeStartObject();
+                gen.writeStringField("date", TimeKeyFormat.ES_BUCKET.format(series.timestamps[day]));
+                gen.writeNumberField("timestamp", series.timestamps[day]);
+
+                gen.writeObjectFieldStart("protocols");
+                long[] dayCounts = series.counts[day];
+                for (int i = 0; i < dayCounts.length; i++) {
+                    // 해당 일에 관측되지 않은 프로토콜은 기록하지 않는다
+                    if (dayCounts[i] > 0) {
+                        gen.writeNumberField(series.protocolNames.get(i), dayCounts[i]);
+                    }
+                }
+                gen.writeEndObject();
+
+                gen.writeNumberField("total", series.totals[day]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
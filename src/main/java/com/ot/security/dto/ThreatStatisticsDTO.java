@@ -0,0 +1,27 @@
+package com.ot.security.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreatStatisticsDTO {
+    private List<ThreatTypeCount> topThreatTypes;
+    private Map<String, Long> bySeverity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ThreatTypeCount {
+        private String type;
+        private long count;
+        private double percentage;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ot.security.dto;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 차트 시계열 버킷 시각(epoch ms)의 JSON 문자열 형식
+ */
+public enum TimeKeyFormat {
+
+    /**
+     * date_histogram 버킷의 key_as_string 과 동일한 형식 (UTC, 밀리초 포함)
+     */
+    ES_BUCKET(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC)),
+
+    /**
+     * Instant.toString() 과 동일한 형식
+     */
+    ISO_INSTANT(DateTimeFormatter.ISO_INSTANT);
+
+    private final DateTimeFormatter formatter;
+
+    TimeKeyFormat(DateTimeFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    public String format(long epochMillis) {
+        return formatter.format(Instant.ofEpochMilli(epochMillis));
+    }
+}
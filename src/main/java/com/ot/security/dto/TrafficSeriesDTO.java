@@ -0,0 +1,103 @@
+package com.ot.security.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 시간대별 트래픽 시계열 (버킷별 값을 열 단위 primitive 배열로 보관)
+ * - JSON 은 기존 형식 그대로 [{time, count, bytes, packets, bps, pps, value}, ...] 로 직접 기록한다.
+ */
+@JsonSerialize(using = TrafficSeriesDTO.Serializer.class)
+public class TrafficSeriesDTO {
+
+    private long[] timestamps;
+    private long[] counts;
+    private long[] bytes;
+    private long[] packets;
+    private double[] bps;
+    private double[] pps;
+    private double[] mbps;
+    private int size;
+
+    public TrafficSeriesDTO() {
+        this(24);
+    }
+
+    public TrafficSeriesDTO(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        timestamps = new long[capacity];
+        counts = new long[capacity];
+        bytes = new long[capacity];
+        packets = new long[capacity];
+        bps = new double[capacity];
+        pps = new double[capacity];
+        mbps = new double[capacity];
+    }
+
+    /**
+     * 버킷 추가
+     * @param timestamp 버킷 시작 시각 (epoch ms)
+     * @param mbps 차트 표시값 (value)
+     */
+    public void add(long timestamp, long count, long bytes, long packets, double bps, double pps, double mbps) {
+        if (size == timestamps.length) {
+            grow();
+        }
+        this.timestamps[size] = timestamp;
+        this.counts[size] = count;
+        this.bytes[size] = bytes;
+        this.packets[size] = packets;
+        this.bps[size] = bps;
+        this.pps[size] = pps;
+        this.mbps[size] = mbps;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        int capacity = timestamps.length * 2;
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        bytes = Arrays.copyOf(bytes, capacity);
+        packets = Arrays.copyOf(packets, capacity);
+        bps = Arrays.copyOf(bps, capacity);
+        pps = Arrays.copyOf(pps, capacity);
+        mbps = Arrays.copyOf(mbps, capacity);
+    }
+
+    public static class Serializer extends StdSerializer<TrafficSeriesDTO> {
+
+        public Serializer() {
+            super(TrafficSeriesDTO.class);
+        }
+
+        @Override
+        public void serialize(TrafficSeriesDTO series, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(series, series.size);
+            for (int i = 0; i < series.size; i++) {
+                gen.writeStartObject();
+                gen.writeStringField("time", TimeKeyFormat.ES_BUCKET.format(series.timestamps[i]));
+                gen.writeNumberField("count", series.counts[i]);
+                gen.writeNumberField("bytes", series.bytes[i]);
+                gen.writeNumberField("packets", series.packets[i]);
+                gen.writeNumberField("bps", series.bps[i]);
+                gen.writeNumberField("pps", series.pps[i]);
+                gen.writeNumberField("value", series.mbps[i]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
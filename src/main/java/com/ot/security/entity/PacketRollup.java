@@ -0,0 +1,48 @@
+package com.ot.security.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 패킷 1분 단위 요약 문서 (rollup 인덱스)
+ * - IP 가 object key 가 되면 '.' 때문에 필드 경로가 분리되므로 key/count 배열로 저장한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PacketRollup {
+
+    @JsonProperty("@timestamp")
+    private String timestamp;    // 분 시작 시각 (UTC)
+
+    private Long count;          // 원본 패킷 문서 수
+
+    private Long bytes;
+
+    private Long packets;
+
+    private List<TermCount> protocols;
+
+    @JsonProperty("top_src")
+    private List<TermCount> topSrc;
+
+    @JsonProperty("top_dst")
+    private List<TermCount> topDst;
+
+    @JsonProperty("rolled_up_at")
+    private String rolledUpAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TermCount {
+        private String key;
+        private Long count;
+    }
+}
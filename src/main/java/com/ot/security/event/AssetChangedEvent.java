@@ -0,0 +1,15 @@
+package com.ot.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 자산이 생성 / 수정 / 삭제되었을 때 발행되는 애플리케이션 이벤트
+ * - assetId 가 null 이면 여러 자산이 한 번에 바뀐 경우 (일괄 생성 등)
+ */
+@Getter
+@RequiredArgsConstructor
+public class AssetChangedEvent {
+
+    private final String assetId;
+}
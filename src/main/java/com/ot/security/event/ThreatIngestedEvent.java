@@ -0,0 +1,16 @@
+package com.ot.security.event;
+
+import com.ot.security.entity.Threat;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 위협 이벤트가 DB 에 저장되었을 때 발행되는 애플리케이션 이벤트
+ * - 리스너는 @TransactionalEventListener 로 커밋 이후에 처리한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ThreatIngestedEvent {
+
+    private final Threat threat;
+}
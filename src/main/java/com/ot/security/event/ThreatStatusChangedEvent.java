@@ -0,0 +1,17 @@
+package com.ot.security.event;
+
+import com.ot.security.entity.Threat;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 위협 처리 상태가 바뀌어 DB 에 저장되었을 때 발행되는 애플리케이션 이벤트
+ * - threat 은 변경 후 상태, previousStatus 는 변경 전 상태
+ */
+@Getter
+@RequiredArgsConstructor
+public class ThreatStatusChangedEvent {
+
+    private final Threat threat;
+    private final String previousStatus;
+}
@@ -23,6 +23,8 @@ public interface ThreatRepository extends JpaRepository<Threat, String>, JpaSpec
 
     long countByEventTimestampAfter(Instant since);
 
+    long countByEventTimestampGreaterThanEqual(Instant since);
+
     @Query("SELECT COUNT(t) FROM Threat t WHERE LOWER(t.status) IN :statuses")
     long countByStatusInIgnoreCase(@Param("statuses") Collection<String> statuses);
 
@@ -33,6 +35,15 @@ public interface ThreatRepository extends JpaRepository<Threat, String>, JpaSpec
     @Query("SELECT DISTINCT t.sourceIp FROM Threat t WHERE t.eventTimestamp >= :since AND t.sourceIp IS NOT NULL")
     List<String> findDistinctSourceIpSince(@Param("since") Instant since);
 
+    @Query("SELECT t.eventTimestamp FROM Threat t WHERE t.eventTimestamp >= :since")
+    List<Instant> findEventTimestampSince(@Param("since") Instant since);
+
+    @Query("SELECT t.sourceIp, t.eventTimestamp FROM Threat t WHERE t.eventTimestamp >= :since AND t.sourceIp IS NOT NULL")
+    List<Object[]> findSourceIpAndTimestampSince(@Param("since") Instant since);
+
+    @Query("SELECT t.sourceIp, t.destinationIp, t.eventTimestamp FROM Threat t WHERE t.eventTimestamp >= :since")
+    List<Object[]> findIpPairAndTimestampSince(@Param("since") Instant since);
+
     @Query(value = "SELECT t FROM Threat t WHERE LOWER(t.status) IN :statuses ORDER BY t.eventTimestamp DESC",
             countQuery = "SELECT COUNT(t) FROM Threat t WHERE LOWER(t.status) IN :statuses")
     Page<Threat> findByStatusInIgnoreCase(@Param("statuses") Collection<String> statuses, Pageable pageable);
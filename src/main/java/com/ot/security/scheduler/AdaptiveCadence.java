@@ -0,0 +1,54 @@
+package com.ot.security.scheduler;
+
+/**
+ * 고정 주기 tick 위에서 실제 실행 간격을 조절하는 카운터
+ * - 값이 바뀌지 않은 실행이 이어지면 간격을 두 배씩 늘리고 (최대 maxTicks), 바뀌면 1 tick 으로 되돌린다.
+ * - 한 번 실행에 걸린 시간 x latencyFactor 보다 짧은 간격으로는 실행하지 않는다 (ES 지연 시 부하 완화).
+ * - 스레드 안전하지 않으므로 스케줄러 스레드에서만 사용한다.
+ */
+public class AdaptiveCadence {
+
+    private final long tickMillis;
+    private final int maxTicks;
+    private final double latencyFactor;
+
+    private int intervalTicks = 1;
+    private int remainingTicks;
+
+    public AdaptiveCadence(long tickMillis, long maxIntervalMillis, double latencyFactor) {
+        this.tickMillis = tickMillis;
+        this.maxTicks = (int) Math.max(1, maxIntervalMillis / tickMillis);
+        this.latencyFactor = latencyFactor;
+    }
+
+    /**
+     * tick 마다 호출
+     * @return 이번 tick 에 실행해야 하면 true
+     */
+    public boolean tick() {
+        return --remainingTicks <= 0;
+    }
+
+    /**
+     * 다음 tick 에 바로 실행되도록 간격 초기화
+     */
+    public void reset() {
+        intervalTicks = 1;
+        remainingTicks = 0;
+    }
+
+    /**
+     * 실행 결과 반영
+     * @param elapsedMillis 실행에 걸린 시간
+     * @param changed 이전 실행과 결과가 달랐는지 여부
+     */
+    public void completed(long elapsedMillis, boolean changed) {
+        intervalTicks = changed ? 1 : Math.min(intervalTicks * 2, maxTicks);
+        int latencyTicks = (int) Math.ceil(elapsedMillis * latencyFactor / tickMillis);
+        remainingTicks = Math.max(intervalTicks, Math.min(latencyTicks, maxTicks));
+    }
+
+    public long getIntervalMillis() {
+        return Math.max(intervalTicks, remainingTicks) * tickMillis;
+    }
+}
@@ -4,19 +4,24 @@ import com.ot.security.dto.DashboardStatsDTO;
 import com.ot.security.entity.ThreatEvent;
 import com.ot.security.dto.SummaryMetricsDTO;
 import com.ot.security.dto.SystemMetricsDTO;
+import com.ot.security.service.ActiveDeviceTracker;
+import com.ot.security.service.ElasticsearchGuard;
 import com.ot.security.service.ElasticsearchService;
 import com.ot.security.service.SSEService;
 import com.ot.security.service.AssetManagementService;
 import com.ot.security.service.SummaryMetricsService;
 import com.ot.security.service.SystemMetricsService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Component
@@ -28,15 +33,39 @@ public class DataRefreshScheduler {
     private final AssetManagementService assetManagementService;
     private final SummaryMetricsService summaryMetricsService;
     private final SystemMetricsService systemMetricsService;
+    private final ActiveDeviceTracker activeDeviceTracker;
+    private final ElasticsearchGuard elasticsearchGuard;
+
+    @Value("${ot-security.stats.interval:1000}")
+    private long statsInterval;
+
+    @Value("${ot-security.stats.max-interval:5000}")
+    private long statsMaxInterval;
+
+    @Value("${ot-security.stats.latency-factor:4}")
+    private double statsLatencyFactor;
 
     private long lastThreatCount = 0;
     private long lastPacketCount = 0;
 
+    // 통계 tick 상태 (스케줄러 스레드에서만 접근)
+    private AdaptiveCadence statsCadence;
+    private int lastStatsSubscribers;
+    private int lastStatsFingerprint;
+
+    @PostConstruct
+    void init() {
+        statsCadence = new AdaptiveCadence(statsInterval, statsMaxInterval, statsLatencyFactor);
+    }
+
     /**
-     * 5초마다 새로운 데이터 확인 및 SSE 푸시
+     * 5초마다 새로운 데이터 확인 및 SSE 푸시 (위협 / 일반 구독자가 없으면 ES 를 조회하지 않는다)
      */
     @Scheduled(fixedDelayString = "${ot-security.refresh-interval}")
     public void refreshData() {
+        if (sseService.getActiveThreatConnections() + sseService.getActiveConnections() == 0) {
+            return;
+        }
         try {
             // 최근 위협 확인
             long currentThreatCount = elasticsearchService.getTotalThreats();
@@ -45,7 +74,7 @@ public class DataRefreshScheduler {
                 List<ThreatEvent> recentThreats = elasticsearchService.searchThreats(0, 5);
                 if (!recentThreats.isEmpty()) {
                     log.info("새로운 위협 감지: {} 건", recentThreats.size());
-                    recentThreats.forEach(threat -> sseService.sendThreat(threat));
+                    recentThreats.forEach(sseService::sendPolledThreat);
                 }
                 lastThreatCount = currentThreatCount;
             }
@@ -63,11 +92,34 @@ public class DataRefreshScheduler {
     }
 
     /**
-     * 1초마다 통계 업데이트 및 SSE 푸시
+     * 통계 업데이트 및 SSE 푸시 (ot-security.stats.interval 마다 tick)
+     * - 통계 구독자가 없으면 계산하지 않고, 구독자가 늘어나면 다음 tick 에 바로 계산한다.
+     * - 한 번 계산한 결과를 모든 구독자가 공유한다 (구독자 수와 무관하게 tick 당 1회).
+     * - 전송 내용(건수, PPS, 시스템 자원, 요약 지표, 토폴로지 상태)이 그대로면 간격을 max-interval 까지 늘리고,
+     *   ES 응답이 느리면 소요 시간에 비례해 늘린다.
      */
-    @Scheduled(fixedRate = 1000)
+    @Scheduled(fixedRateString = "${ot-security.stats.interval:1000}")
     public void refreshStats() {
+        int subscribers = sseService.getActiveStatsConnections();
+        if (subscribers == 0) {
+            if (lastStatsSubscribers > 0) {
+                log.debug("통계 구독자 없음: 통계 계산 중지");
+            }
+            lastStatsSubscribers = 0;
+            return;
+        }
+        if (subscribers > lastStatsSubscribers) {
+            statsCadence.reset();
+        }
+        lastStatsSubscribers = subscribers;
+        if (!statsCadence.tick()) {
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
         try {
+            elasticsearchGuard.resetStaleness();
+
             long totalPackets = elasticsearchService.getTotalPackets();
             long totalThreats = elasticsearchService.getTotalThreats();
             long recentPackets = elasticsearchService.countRecentPackets(5);
@@ -82,6 +134,7 @@ public class DataRefreshScheduler {
 
             var threatsByLevel = elasticsearchService.aggregateThreatsByLevel();
             var threatsByType = elasticsearchService.aggregateThreatsByType();
+            ElasticsearchGuard.Staleness staleness = elasticsearchGuard.drainStaleness();
 
             DashboardStatsDTO stats = DashboardStatsDTO.builder()
                     .totalPackets(totalPackets)
@@ -102,23 +155,39 @@ public class DataRefreshScheduler {
                     .newIpCount(summaryMetrics.getNewIpCount())
                     .topologyStatus(assetManagementService.getTopologyStatusSnapshot())
                     .lastUpdate(Instant.now().toString())
+                    .stale(staleness.stale())
+                    .dataAgeMs(staleness.dataAgeMs())
                     .build();
 
             sseService.sendStats(stats);
-            log.debug("통계 업데이트 전송: packets={}, threats={}", totalPackets, totalThreats);
+
+            int fingerprint = Objects.hash(totalPackets, totalThreats, recentPackets, recentThreats,
+                    packetsPerSecond, threatsByLevel, threatsByType,
+                    metrics.getCpuUsage(), metrics.getRamUsage(), metrics.getGpuUsage(),
+                    summaryMetrics.getUnconfirmedAlarms(), summaryMetrics.getCriticalAlarms(),
+                    summaryMetrics.getSafetyScore(), summaryMetrics.getAnomalyDay(), summaryMetrics.getAnomalyWeek(),
+                    summaryMetrics.getNewIpCount(), stats.getTopologyStatus(), stats.getStale());
+            statsCadence.completed(System.currentTimeMillis() - startedAt, fingerprint != lastStatsFingerprint);
+            lastStatsFingerprint = fingerprint;
+            log.debug("통계 업데이트 전송: packets={}, threats={}, 다음 간격 {}ms",
+                    totalPackets, totalThreats, statsCadence.getIntervalMillis());
 
         } catch (IOException e) {
+            statsCadence.completed(System.currentTimeMillis() - startedAt, false);
             log.error("통계 새로고침 실패", e);
         }
     }
 
     /**
-     * 30초마다 하트비트 전송
+     * 활성 장비 last-seen 인덱스 증분 갱신
      */
-    @Scheduled(fixedDelayString = "${ot-security.sse.heartbeat}")
-    public void sendHeartbeat() {
-        sseService.sendHeartbeat();
-        log.debug("하트비트 전송 - 활성 연결: {}", sseService.getActiveConnections());
+    @Scheduled(fixedDelayString = "${ot-security.assets.active-refresh-interval:5000}")
+    public void refreshActiveDevices() {
+        try {
+            activeDeviceTracker.refresh();
+        } catch (Exception e) {
+            log.error("활성 장비 인덱스 갱신 실패: {}", e.getMessage());
+        }
     }
 
     /**
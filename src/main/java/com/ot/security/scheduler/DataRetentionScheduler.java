@@ -1,7 +1,9 @@
 package com.ot.security.scheduler;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.cat.indices.IndicesRecord;
 import co.elastic.clients.elasticsearch.indices.DeleteIndexResponse;
+import co.elastic.clients.elasticsearch.indices.ForcemergeResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,21 +14,31 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * 데이터 보존 정책 스케줄러
  * - 3일보다 오래된 트래픽 데이터를 자동으로 삭제
+ * - 전날 인덱스를 force-merge 하여 세그먼트 수를 줄임
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataRetentionScheduler {
 
+    private static final Pattern INDEX_DATE = Pattern.compile("\\d{4}\\.\\d{2}\\.\\d{2}");
+
     private final ElasticsearchClient elasticsearchClient;
 
     @Value("${ot-security.elasticsearch.packet-index}")
     private String packetIndex;
 
+    @Value("${ot-security.elasticsearch.threat-index}")
+    private String threatIndex;
+
     @Value("${ot-security.data-retention-days:3}")
     private int retentionDays;
 
@@ -57,46 +69,74 @@ public class DataRetentionScheduler {
         }
     }
 
+    /**
+     * 매일 00시 15분 전날 인덱스 force-merge (세그먼트 1개로 병합)
+     * - 더 이상 쓰기가 없는 일별 인덱스의 세그먼트를 합쳐 주간 집계 성능을 높인다.
+     */
+    @Scheduled(cron = "${ot-security.maintenance.force-merge-cron:0 15 0 * * ?}")
+    public void forceMergePreviousDay() {
+        String yesterday = DateTimeFormatter
+            .ofPattern("yyyy.MM.dd")
+            .withZone(ZoneId.systemDefault())
+            .format(Instant.now().minus(1, ChronoUnit.DAYS));
+        List<String> indices = List.of(packetIndex + "-" + yesterday, threatIndex + "-" + yesterday);
+
+        try {
+            ForcemergeResponse response = elasticsearchClient.indices().forcemerge(f -> f
+                .index(indices)
+                .maxNumSegments(1L)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .waitForCompletion(false)
+            );
+            log.info("🗜️  force-merge 요청: {} (task: {})", indices, response.task());
+        } catch (Exception e) {
+            log.error("❌ force-merge 요청 실패: {}", indices, e);
+        }
+    }
+
     /**
      * 오래된 인덱스 삭제
+     * - cat/indices 한 번으로 패킷 인덱스 목록을 조회하고, 기준일 이전 인덱스를 한 번의 요청으로 삭제한다.
      */
     private void deleteOldIndices(Instant cutoffDate) throws Exception {
         DateTimeFormatter formatter = DateTimeFormatter
             .ofPattern("yyyy.MM.dd")
             .withZone(ZoneId.systemDefault());
+        String cutoff = formatter.format(cutoffDate);
+        String prefix = packetIndex + "-";
+
+        List<String> expired = elasticsearchClient.cat()
+            .indices(c -> c.index(prefix + "*"))
+            .valueBody()
+            .stream()
+            .map(IndicesRecord::index)
+            .filter(Objects::nonNull)
+            .filter(name -> isOnOrBefore(name.substring(prefix.length()), cutoff))
+            .sorted()
+            .collect(Collectors.toList());
+
+        if (expired.isEmpty()) {
+            log.debug("더 이상 삭제할 인덱스가 없습니다.");
+            return;
+        }
 
-        // 지난 90일간의 인덱스 확인 (충분한 범위)
-        for (int i = retentionDays; i < 90; i++) {
-            Instant dateToCheck = Instant.now().minus(i, ChronoUnit.DAYS);
-            String indexDate = formatter.format(dateToCheck);
-            String indexName = packetIndex + "-" + indexDate;
-
-            try {
-                // 인덱스 존재 여부 확인
-                boolean exists = elasticsearchClient.indices()
-                    .exists(e -> e.index(indexName))
-                    .value();
-
-                if (exists) {
-                    // 인덱스 삭제
-                    DeleteIndexResponse response = elasticsearchClient.indices()
-                        .delete(d -> d.index(indexName));
-
-                    if (response.acknowledged()) {
-                        log.info("🗑️  삭제됨: {} ({}일 전 데이터)", indexName, i);
-                    }
-                } else {
-                    // 연속으로 3개의 인덱스가 없으면 중단 (더 이상 오래된 인덱스 없음)
-                    if (i > retentionDays + 3) {
-                        log.debug("더 이상 삭제할 인덱스가 없습니다.");
-                        break;
-                    }
-                }
-
-            } catch (Exception e) {
-                log.debug("인덱스 확인 실패: {} - {}", indexName, e.getMessage());
-            }
+        DeleteIndexResponse response = elasticsearchClient.indices()
+            .delete(d -> d.index(expired));
+
+        if (response.acknowledged()) {
+            log.info("🗑️  삭제됨: {} 개 인덱스 {}", expired.size(), expired);
+        }
+    }
+
+    /**
+     * yyyy.MM.dd 날짜 접미사가 기준일 이전(같은 날 포함)인지 여부 (형식이 다르면 삭제 대상에서 제외)
+     */
+    private boolean isOnOrBefore(String dateSuffix, String cutoff) {
+        if (!INDEX_DATE.matcher(dateSuffix).matches()) {
+            return false;
         }
+        return dateSuffix.compareTo(cutoff) <= 0;
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.ot.security.scheduler;
+
+import com.ot.security.service.PacketRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 패킷 rollup 스케줄러
+ * - 1분 단위 요약 문서를 주기적으로 갱신하고, 보존 기간이 지난 요약 문서를 정리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PacketRollupScheduler {
+
+    private final PacketRollupService packetRollupService;
+
+    /**
+     * 완료된 분 구간 rollup (기본 1분마다)
+     */
+    @Scheduled(fixedDelayString = "${ot-security.rollup.interval:60000}", initialDelay = 10000)
+    public void rollupPackets() {
+        try {
+            packetRollupService.rollupPendingMinutes();
+        } catch (Exception e) {
+            log.error("❌ 패킷 rollup 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 rollup 문서 정리 (매시 정각)
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void purgeExpiredRollups() {
+        try {
+            packetRollupService.purgeExpired();
+        } catch (Exception e) {
+            log.error("❌ 패킷 rollup 정리 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ot.security.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 활성 장비 IP → 마지막 관측 시각 메모리 인덱스
+ * - 주기적으로 checkpoint 이후 구간만 composite 집계로 조회하여 갱신한다.
+ * - 활성 장비 조회는 Elasticsearch 를 거치지 않고 메모리에서 응답한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveDeviceTracker {
+
+    private final ElasticsearchService elasticsearchService;
+
+    @Value("${ot-security.assets.active-window-minutes:5}")
+    private int activeWindowMinutes;
+
+    // 인덱싱 지연으로 늦게 보이는 문서를 놓치지 않도록 checkpoint 이전 구간을 겹쳐서 조회
+    @Value("${ot-security.assets.active-overlap-seconds:30}")
+    private int overlapSeconds;
+
+    @Value("${ot-security.assets.active-refresh-interval:5000}")
+    private long refreshIntervalMillis;
+
+    private final Map<String, Long> lastSeenByIp = new ConcurrentHashMap<>();
+
+    private volatile Instant checkpoint;
+
+    /**
+     * checkpoint 이후 관측된 IP 를 반영하고 활성 구간을 벗어난 IP 를 제거
+     */
+    public synchronized void refresh() throws IOException {
+        Instant now = Instant.now();
+        Instant windowStart = now.minusSeconds(activeWindowMinutes * 60L);
+        Instant since = checkpoint == null ? windowStart : checkpoint.minusSeconds(overlapSeconds);
+        if (since.isBefore(windowStart)) {
+            since = windowStart;
+        }
+
+        Map<String, Long> observed = elasticsearchService.getLastSeenByIp(since);
+        observed.forEach((ip, seenAt) -> lastSeenByIp.merge(ip, seenAt, Math::max));
+
+        long cutoff = windowStart.toEpochMilli();
+        lastSeenByIp.values().removeIf(seenAt -> seenAt < cutoff);
+
+        checkpoint = now;
+        log.debug("활성 장비 인덱스 갱신: 신규 관측 {} 개, 전체 {} 개", observed.size(), lastSeenByIp.size());
+    }
+
+    /**
+     * 최근 활성 구간 내 트래픽이 있었던 IP 목록
+     * - 인덱스가 아직 준비되지 않았거나 갱신이 멈춘 경우에만 동기적으로 갱신한다.
+     */
+    public List<String> getActiveIps() throws IOException {
+        Instant current = checkpoint;
+        if (current == null || current.plusMillis(refreshIntervalMillis * 3).isBefore(Instant.now())) {
+            refresh();
+        }
+
+        long cutoff = Instant.now().minusSeconds(activeWindowMinutes * 60L).toEpochMilli();
+        return lastSeenByIp.entrySet().stream()
+                .filter(entry -> entry.getValue() >= cutoff)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,178 @@
+package com.ot.security.service;
+
+import com.ot.security.entity.Asset;
+import com.ot.security.event.AssetChangedEvent;
+import com.ot.security.repository.AssetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 등록 자산 IP → 자산 정보 메모리 인덱스
+ * - IPv4 는 int 로 압축해 정렬 배열에 두고 이진 탐색으로 찾는다 (IPv6 등은 문자열 맵).
+ * - 자산 생성 / 수정 / 삭제(AssetChangedEvent) 커밋 후 전체를 다시 읽어 교체하므로,
+ *   신규 IP 계산과 위협 자산 매핑은 DB 를 조회하지 않는다.
+ * - 다른 인스턴스나 이벤트를 발행하지 않는 경로에서 바뀐 자산은 reconcile-interval 마다 다시 읽어 반영한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssetIpIndex {
+
+    private final AssetRepository assetRepository;
+
+    private volatile Table table = Table.of(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${ot-security.summary.reconcile-interval:60000}",
+            initialDelayString = "${ot-security.summary.reconcile-interval:60000}")
+    public void rebuild() {
+        try {
+            table = Table.of(assetRepository.findAll());
+            log.debug("자산 IP 인덱스 재구성: {} 개", table.size());
+        } catch (Exception e) {
+            log.warn("자산 IP 인덱스 재구성 실패 - 기존 인덱스 유지: {}", e.getMessage());
+        }
+    }
+
+    public boolean contains(String ip) {
+        return table.find(ip) != null;
+    }
+
+    public Optional<AssetInfo> find(String ip) {
+        return Optional.ofNullable(table.find(ip));
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * 위협 매핑에 필요한 자산 필드만 담은 불변 사본
+     */
+    public record AssetInfo(String assetId, String name, String assetType) {
+    }
+
+    static final class Table {
+
+        private final int[] ipv4;
+        private final AssetInfo[] ipv4Assets;
+        private final Map<String, AssetInfo> others;
+
+        private Table(int[] ipv4, AssetInfo[] ipv4Assets, Map<String, AssetInfo> others) {
+            this.ipv4 = ipv4;
+            this.ipv4Assets = ipv4Assets;
+            this.others = others;
+        }
+
+        /**
+         * 같은 IP 가 여러 자산에 있으면 먼저 나온 자산을 사용
+         */
+        static Table of(List<Asset> assets) {
+            long[] packed = new long[assets.size()];
+            int count = 0;
+            Map<String, AssetInfo> others = new HashMap<>();
+            Map<Integer, AssetInfo> byIpv4 = new HashMap<>();
+
+            for (Asset asset : assets) {
+                String ip = asset.getIpAddress() == null ? "" : asset.getIpAddress().trim();
+                if (ip.isEmpty()) {
+                    continue;
+                }
+                AssetInfo info = new AssetInfo(asset.getAssetId(), asset.getName(), asset.getAssetType());
+                long address = parseIpv4(ip);
+                if (address < 0) {
+                    others.putIfAbsent(ip, info);
+                } else if (byIpv4.putIfAbsent((int) address, info) == null) {
+                    packed[count++] = address;
+                }
+            }
+
+            // 부호 없는 순서로 정렬한 뒤 int 로 저장 (탐색도 같은 순서 사용)
+            Arrays.sort(packed, 0, count);
+            int[] ipv4 = new int[count];
+            AssetInfo[] ipv4Assets = new AssetInfo[count];
+            for (int i = 0; i < count; i++) {
+                ipv4[i] = (int) packed[i];
+                ipv4Assets[i] = byIpv4.get(ipv4[i]);
+            }
+            return new Table(ipv4, ipv4Assets, Map.copyOf(others));
+        }
+
+        AssetInfo find(String ip) {
+            if (ip == null) {
+                return null;
+            }
+            String trimmed = ip.trim();
+            long address = parseIpv4(trimmed);
+            if (address < 0) {
+                return trimmed.isEmpty() ? null : others.get(trimmed);
+            }
+
+            int low = 0;
+            int high = ipv4.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compare = Integer.compareUnsigned(ipv4[mid], (int) address);
+                if (compare < 0) {
+                    low = mid + 1;
+                } else if (compare > 0) {
+                    high = mid - 1;
+                } else {
+                    return ipv4Assets[mid];
+                }
+            }
+            return null;
+        }
+
+        int size() {
+            return ipv4.length + others.size();
+        }
+
+        /**
+         * 점 표기 IPv4 를 부호 없는 32비트 값으로 변환 (IPv4 가 아니면 -1)
+         */
+        static long parseIpv4(String ip) {
+            long address = 0;
+            int octets = 0;
+            int value = -1;
+            for (int i = 0; i <= ip.length(); i++) {
+                char c = i < ip.length() ? ip.charAt(i) : '.';
+                if (c == '.') {
+                    if (value < 0 || ++octets > 4) {
+                        return -1;
+                    }
+                    address = (address << 8) | value;
+                    value = -1;
+                } else if (c >= '0' && c <= '9') {
+                    value = (value < 0 ? 0 : value * 10) + (c - '0');
+                    if (value > 255) {
+                        return -1;
+                    }
+                } else {
+                    return -1;
+                }
+            }
+            return octets == 4 ? address : -1;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.ot.security.service;
 import com.ot.security.dto.AssetDTO;
 import com.ot.security.dto.TopologyStatusDTO;
 import com.ot.security.entity.Asset;
+import com.ot.security.event.AssetChangedEvent;
 import com.ot.security.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +24,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AssetManagementService {
 
+    /**
+     * lastSeen 갱신 최소 간격 (이보다 작게 앞당겨지는 경우는 저장하지 않는다)
+     */
+    private static final long LAST_SEEN_REFRESH_SECONDS = 60;
+
     private final AssetRepository assetRepository;
     private final ElasticsearchService elasticsearchService;
+    private final ActiveDeviceTracker activeDeviceTracker;
+    private final ApplicationEventPublisher eventPublisher;
     @Value("${ot-security.assets.auto-status-update:false}")
     private boolean autoStatusUpdateEnabled;
 
@@ -80,6 +89,7 @@ public class AssetManagementService {
                 .build();
 
         Asset saved = assetRepository.save(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(saved.getAssetId()));
 
         log.info("자산 생성 완료: {}", saved.getAssetId());
         return toAssetDTO(saved);
@@ -119,6 +129,7 @@ public class AssetManagementService {
         }
 
         Asset updated = assetRepository.save(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(assetId));
         log.info("자산 업데이트 완료: {}", assetId);
         return toAssetDTO(updated);
     }
@@ -132,6 +143,7 @@ public class AssetManagementService {
                 .orElseThrow(() -> new RuntimeException("자산을 찾을 수 없습니다: " + assetId));
 
         assetRepository.delete(asset);
+        eventPublisher.publishEvent(new AssetChangedEvent(assetId));
 
         log.info("자산 삭제 완료: {}", assetId);
     }
@@ -177,15 +189,18 @@ public class AssetManagementService {
             }
         }
 
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new AssetChangedEvent(null));
+        }
         log.info("자산 일괄 생성 완료: {}개", created.size());
         return created;
     }
 
     /**
-     * Elasticsearch에서 활성 장비 IP 목록 조회
+     * 활성 장비 IP 목록 조회 (메모리 last-seen 인덱스)
      */
     public List<String> getActiveDeviceIps() throws Exception {
-        return elasticsearchService.getActiveDeviceIps();
+        return activeDeviceTracker.getActiveIps();
     }
 
     /**
@@ -197,6 +212,9 @@ public class AssetManagementService {
 
     /**
      * 자산 상태 업데이트 (주기적으로 호출)
+     * - 모든 자산의 위협/트래픽 여부를 한 번의 Elasticsearch 요청으로 조회하고,
+     *   상태가 바뀌었거나 lastSeen 이 1분 이상 앞당겨진 자산만 일괄 저장한다.
+     * - lastSeen 은 최근 5분 이내 트래픽이 관측된 자산에 대해서만 갱신한다.
      */
     @Transactional
     public void updateAssetStatuses() {
@@ -207,20 +225,45 @@ public class AssetManagementService {
         List<Asset> assets = assetRepository.findAll();
         Instant now = Instant.now();
 
-        for (Asset asset : assets) {
-            try {
-                String status = determineAssetStatus(asset, now);
+        ElasticsearchService.IpActivity activity;
+        try {
+            activity = elasticsearchService.getIpActivity(
+                    assets.stream().map(Asset::getIpAddress).collect(Collectors.toList()), 60, 5);
+        } catch (Exception e) {
+            log.error("자산 상태 조회 실패 - 기존 상태 유지: {}", e.getMessage());
+            return;
+        }
 
+        List<Asset> changed = new ArrayList<>();
+        for (Asset asset : assets) {
+            boolean dirty = false;
+            String status = determineAssetStatus(asset, activity);
+            if (!status.equals(asset.getStatus())) {
                 asset.setStatus(status);
+                dirty = true;
+            }
+            if (isObserved(asset, activity) && (asset.getLastSeen() == null
+                    || asset.getLastSeen().isBefore(now.minusSeconds(LAST_SEEN_REFRESH_SECONDS)))) {
                 asset.setLastSeen(now);
-                assetRepository.save(asset);
-
-            } catch (Exception e) {
-                log.error("자산 상태 업데이트 실패: {}", asset.getAssetId(), e);
+                dirty = true;
+            }
+            if (dirty) {
+                changed.add(asset);
             }
         }
 
-        log.debug("자산 상태 업데이트 완료: {} 개", assets.size());
+        if (!changed.isEmpty()) {
+            assetRepository.saveAll(changed);
+        }
+        log.debug("자산 상태 업데이트 완료: 전체 {} 개, 변경 {} 개", assets.size(), changed.size());
+    }
+
+    /**
+     * 최근 5분 이내 해당 IP 로 트래픽이 관측되었는지 여부
+     */
+    private boolean isObserved(Asset asset, ElasticsearchService.IpActivity activity) {
+        String ipAddress = asset.getIpAddress();
+        return ipAddress != null && activity.trafficIps().contains(ipAddress.trim());
     }
 
     /**
@@ -229,21 +272,21 @@ public class AssetManagementService {
      * - warning: 최근 5분 이내 트래픽 없음
      * - critical: 최근 1시간 이내 해당 IP로 위협 탐지됨
      */
-    private String determineAssetStatus(Asset asset, Instant now) throws Exception {
+    private String determineAssetStatus(Asset asset, ElasticsearchService.IpActivity activity) {
         String currentStatus = asset.getStatus() != null ? asset.getStatus() : "normal";
         String ipAddress = asset.getIpAddress();
         if (ipAddress == null || ipAddress.isBlank()) {
             return currentStatus;
         }
+        String ip = ipAddress.trim();
+
         // 1. 최근 1시간 이내 위협 확인
-        long recentThreats = elasticsearchService.countThreatsForIp(ipAddress, 60);
-        if (recentThreats > 0) {
+        if (activity.threatIps().contains(ip)) {
             return "critical";
         }
 
         // 2. 최근 5분 이내 트래픽 확인
-        long recentPackets = elasticsearchService.countPacketsForIp(ipAddress, 5);
-        if (recentPackets > 0) {
+        if (activity.trafficIps().contains(ip)) {
             return "normal";
         }
 
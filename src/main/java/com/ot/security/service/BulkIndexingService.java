@@ -0,0 +1,194 @@
+package com.ot.security.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ot.security.entity.Packet;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NDJSON 패킷 문서 대량 색인
+ * - elasticsearch-java BulkIngester 로 문서 수 / 요청 크기 / 시간 기준으로 묶어서 전송한다.
+ * - 동시 bulk 요청 수가 한도에 도달하면 add 가 블로킹되므로, 요청 본문을 읽는 속도가 색인 속도에 맞춰진다.
+ * - 문서는 @timestamp 기준 일별 인덱스(packet-index-yyyy.MM.dd)로 들어간다.
+ *   @timestamp 가 없거나 ISO-8601 이 아닌 줄은 잘못된 JSON 과 같이 거부한다 (수신 시각으로 채우면 엉뚱한 날짜에 들어간다).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkIndexingService {
+
+    private static final DateTimeFormatter INDEX_DATE = DateTimeFormatter
+            .ofPattern("yyyy.MM.dd")
+            .withZone(ZoneId.systemDefault());
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ot-security.elasticsearch.packet-index}")
+    private String packetIndex;
+
+    @Value("${ot-security.bulk.max-operations:5000}")
+    private int maxOperations;
+
+    @Value("${ot-security.bulk.max-size-bytes:5242880}")
+    private long maxSizeBytes;
+
+    @Value("${ot-security.bulk.flush-interval:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${ot-security.bulk.max-concurrent-requests:4}")
+    private int maxConcurrentRequests;
+
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private BulkIngester<Void> ingester;
+    private ObjectReader packetReader;
+
+    @PostConstruct
+    void init() {
+        packetReader = objectMapper.readerFor(Packet.class);
+        ingester = BulkIngester.of(b -> b
+                .client(elasticsearchClient)
+                .maxOperations(maxOperations)
+                .maxSize(maxSizeBytes)
+                .flushInterval(flushIntervalMillis, TimeUnit.MILLISECONDS)
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .listener(new IngestListener()));
+    }
+
+    @PreDestroy
+    void close() {
+        if (ingester != null) {
+            ingester.close();
+        }
+    }
+
+    /**
+     * NDJSON 스트림의 패킷 문서를 bulk 큐에 추가
+     * @return 이 요청의 accepted(큐에 추가된 문서 수), rejected(거부된 줄 수),
+     *         invalidJson / invalidTimestamp(거부 사유별 줄 수)
+     */
+    public Map<String, Object> ingestPackets(InputStream ndjson) throws IOException {
+        long accepted = 0;
+        long invalidJson = 0;
+        long invalidTimestamp = 0;
+        long startedAt = System.currentTimeMillis();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Packet packet;
+                try {
+                    packet = packetReader.readValue(line);
+                } catch (IOException e) {
+                    invalidJson++;
+                    continue;
+                }
+
+                String index = dailyIndex(packet);
+                if (index == null) {
+                    invalidTimestamp++;
+                    continue;
+                }
+                ingester.add(op -> op.index(i -> i.index(index).document(packet)));
+                accepted++;
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("accepted", accepted);
+        result.put("rejected", invalidJson + invalidTimestamp);
+        result.put("invalidJson", invalidJson);
+        result.put("invalidTimestamp", invalidTimestamp);
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        return result;
+    }
+
+    /**
+     * 누적 색인 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("indexed", indexedCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("pendingOperations", ingester.pendingOperations());
+        stats.put("pendingRequests", ingester.pendingRequests());
+        stats.put("requestCount", ingester.requestCount());
+        return stats;
+    }
+
+    /**
+     * @timestamp 기준 일별 인덱스 이름
+     * @return @timestamp 가 없거나 형식이 잘못되면 null
+     */
+    private String dailyIndex(Packet packet) {
+        if (packet.getTimestamp() == null) {
+            return null;
+        }
+        try {
+            return packetIndex + "-" + INDEX_DATE.format(Instant.parse(packet.getTimestamp()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private class IngestListener implements BulkListener<Void> {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<Void> contexts) {
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, BulkResponse response) {
+            long failed = 0;
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    if (item.error() != null) {
+                        failed++;
+                        log.debug("bulk 색인 실패: {} - {}", item.index(), item.error().reason());
+                    }
+                }
+                log.warn("bulk 요청 #{} 일부 실패: {} / {}", executionId, failed, response.items().size());
+            }
+            indexedCount.addAndGet(response.items().size() - failed);
+            failedCount.addAndGet(failed);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, Throwable failure) {
+            failedCount.addAndGet(request.operations().size());
+            log.error("bulk 요청 #{} 실패 ({} 건): {}", executionId, request.operations().size(), failure.getMessage());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.ot.security.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.transport.TransportOptions;
+import co.elastic.clients.transport.rest_client.RestClientOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.elasticsearch.client.RequestOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 대시보드용 Elasticsearch 조회 보호 계층
+ * - 쿼리 유형별 circuit breaker: 연속 실패 시 일정 시간 동안 Elasticsearch 호출을 건너뛴다.
+ * - 쿼리 유형별 bulkhead: 동시 호출 수를 제한하고, 초과 시 대기하지 않고 바로 대체값을 반환한다.
+ * - 짧은 요청 타임아웃: 느린 클러스터가 스케줄러/요청 스레드를 오래 붙잡지 않도록 한다.
+ * - last-known-good: 실패 시 마지막 성공 값을 반환하고, 현재 스레드에 stale 여부와 데이터 나이를 기록한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ElasticsearchGuard {
+
+    /**
+     * 쿼리 유형 (유형별로 breaker / bulkhead 를 분리한다)
+     */
+    public enum QueryType {
+        COUNT,
+        AGGREGATION,
+        TIMESERIES
+    }
+
+    @FunctionalInterface
+    public interface GuardedCall<T> {
+        T execute(ElasticsearchClient client) throws IOException;
+    }
+
+    /**
+     * 현재 스레드에서 반환된 값들의 최신성
+     * @param stale 하나 이상의 값이 대체값(last-known-good 또는 기본값)인지 여부
+     * @param dataAgeMs 대체값 중 가장 오래된 값의 나이 (캐시된 값이 없었다면 null)
+     */
+    public record Staleness(boolean stale, Long dataAgeMs) {
+        public static final Staleness FRESH = new Staleness(false, null);
+    }
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    @Value("${ot-security.elasticsearch.guard.call-timeout:3s}")
+    private Duration callTimeout;
+
+    @Value("${ot-security.elasticsearch.guard.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${ot-security.elasticsearch.guard.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${ot-security.elasticsearch.guard.max-concurrent:4}")
+    private int maxConcurrent;
+
+    private final Map<QueryType, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<QueryType, Semaphore> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, CachedValue> lastKnownGood = new ConcurrentHashMap<>();
+    private final ThreadLocal<Staleness> staleness = ThreadLocal.withInitial(() -> Staleness.FRESH);
+
+    private ElasticsearchClient guardedClient;
+
+    @PostConstruct
+    void init() {
+        TransportOptions base = elasticsearchClient._transport().options();
+        RequestOptions baseOptions = base instanceof RestClientOptions restOptions
+                ? restOptions.restClientRequestOptions()
+                : RequestOptions.DEFAULT;
+
+        RequestOptions options = baseOptions.toBuilder()
+                .setRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) Math.min(callTimeout.toMillis(), 1000))
+                        .setSocketTimeout((int) callTimeout.toMillis())
+                        .build())
+                .build();
+        guardedClient = elasticsearchClient.withTransportOptions(new RestClientOptions(options));
+
+        for (QueryType type : QueryType.values()) {
+            breakers.put(type, new CircuitBreaker());
+            bulkheads.put(type, new Semaphore(maxConcurrent));
+        }
+    }
+
+    /**
+     * 보호된 조회 실행
+     * @param type 쿼리 유형
+     * @param cacheKey last-known-good 캐시 키 (메서드 + 파라미터)
+     * @param defaultValue 캐시된 값도 없을 때 반환할 값
+     */
+    public <T> T call(QueryType type, String cacheKey, T defaultValue, GuardedCall<T> call) {
+        // bulkhead 를 먼저 확보해야 half-open 시험 호출 권한이 실제 호출 없이 사라지지 않는다
+        Semaphore bulkhead = bulkheads.get(type);
+        if (!bulkhead.tryAcquire()) {
+            return fallback(cacheKey, defaultValue, "bulkhead full (" + type + ")");
+        }
+
+        CircuitBreaker breaker = breakers.get(type);
+        if (!breaker.allowRequest()) {
+            bulkhead.release();
+            return fallback(cacheKey, defaultValue, "circuit open (" + type + ")");
+        }
+
+        try {
+            T value = call.execute(guardedClient);
+            breaker.recordSuccess();
+            lastKnownGood.put(cacheKey, new CachedValue(value, System.currentTimeMillis()));
+            return value;
+        } catch (Exception e) {
+            if (breaker.recordFailure()) {
+                log.warn("⚠️  Elasticsearch circuit open: {} ({}초)", type, openDuration.toSeconds());
+            }
+            return fallback(cacheKey, defaultValue, e.getMessage());
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 현재 스레드의 stale 기록 초기화 (요청/스케줄 작업 시작 시 호출)
+     */
+    public void resetStaleness() {
+        staleness.remove();
+    }
+
+    /**
+     * 현재 스레드의 stale 기록 조회 후 초기화
+     */
+    public Staleness drainStaleness() {
+        Staleness current = staleness.get();
+        staleness.remove();
+        return current;
+    }
+
+    public boolean isCircuitOpen(QueryType type) {
+        return breakers.get(type).isOpen();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fallback(String cacheKey, T defaultValue, String reason) {
+        CachedValue cached = lastKnownGood.get(cacheKey);
+        Long age = cached != null ? System.currentTimeMillis() - cached.fetchedAt : null;
+        markStale(age);
+        log.debug("Elasticsearch 조회 대체값 반환: {} - {} (age={}ms)", cacheKey, reason, age);
+        return cached != null ? (T) cached.value : defaultValue;
+    }
+
+    private void markStale(Long age) {
+        Staleness current = staleness.get();
+        Long oldest = current.dataAgeMs();
+        if (age != null && (oldest == null || age > oldest)) {
+            oldest = age;
+        }
+        staleness.set(new Staleness(true, oldest));
+    }
+
+    private record CachedValue(Object value, long fetchedAt) {
+    }
+
+    /**
+     * 연속 실패 기반 circuit breaker (closed → open → half-open)
+     */
+    private class CircuitBreaker {
+        private int consecutiveFailures;
+        private long openedAt = -1;
+        private boolean trialInFlight;
+
+        synchronized boolean allowRequest() {
+            if (openedAt < 0) {
+                return true;
+            }
+            // half-open: open-duration 경과 후 한 건만 시험 호출 허용
+            if (!trialInFlight && System.currentTimeMillis() - openedAt >= openDuration.toMillis()) {
+                trialInFlight = true;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized void recordSuccess() {
+            consecutiveFailures = 0;
+            openedAt = -1;
+            trialInFlight = false;
+        }
+
+        /**
+         * @return 이번 실패로 circuit 이 새로 열렸는지 여부
+         */
+        synchronized boolean recordFailure() {
+            consecutiveFailures++;
+            boolean wasOpen = openedAt >= 0;
+            if (trialInFlight || consecutiveFailures >= failureThreshold) {
+                openedAt = System.currentTimeMillis();
+                trialInFlight = false;
+            }
+            return !wasOpen && openedAt >= 0;
+        }
+
+        synchronized boolean isOpen() {
+            return openedAt >= 0;
+        }
+    }
+}
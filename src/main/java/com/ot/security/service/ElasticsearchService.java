@@ -3,17 +3,31 @@ package com.ot.security.service;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
 import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
 import co.elastic.clients.elasticsearch._types.aggregations.CardinalityAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
 import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramAggregate;
 import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.MultiBucketBase;
 import co.elastic.clients.elasticsearch._types.aggregations.StringTermsAggregate;
 import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.CountResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.json.JsonData;
+import com.ot.security.config.IndexFieldNames;
+import com.ot.security.dto.CountSeriesDTO;
+import com.ot.security.dto.HourlyAverageDTO;
+import com.ot.security.dto.ProtocolSeriesDTO;
+import com.ot.security.dto.TimeKeyFormat;
+import com.ot.security.dto.TrafficSeriesDTO;
 import com.ot.security.entity.Packet;
+import com.ot.security.entity.PacketRollup;
 import com.ot.security.entity.ThreatEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,12 +38,14 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -37,7 +53,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ElasticsearchService {
 
+    private static final double HOUR_SECONDS = 3600.0;
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final int COMPOSITE_PAGE_SIZE = 1000;
+    // 이 값 이하의 고유값 개수는 거의 정확하게 계산된다 (ES 최대 40000)
+    private static final int CARDINALITY_PRECISION_THRESHOLD = 3000;
+
     private final ElasticsearchClient elasticsearchClient;
+    private final PacketRollupService packetRollupService;
+    private final ElasticsearchGuard guard;
+    private final IndexFieldNames fields;
 
     @Value("${ot-security.elasticsearch.packet-index}")
     private String packetIndex;
@@ -45,6 +71,9 @@ public class ElasticsearchService {
     @Value("${ot-security.elasticsearch.threat-index}")
     private String threatIndex;
 
+    @Value("${ot-security.elasticsearch.recent-count-limit:1000000}")
+    private int recentCountLimit;
+
     /**
      * 패킷 검색
      */
@@ -53,6 +82,7 @@ public class ElasticsearchService {
             .index(packetIndex + "-*")
             .from(from)
             .size(size)
+            .trackTotalHits(t -> t.enabled(false))
             .sort(sort -> sort.field(f -> f.field("@timestamp").order(SortOrder.Desc))),
             Packet.class
         );
@@ -72,6 +102,7 @@ public class ElasticsearchService {
             .index(threatIndex + "-*")
             .from(from)
             .size(size)
+            .trackTotalHits(t -> t.enabled(false))
             .sort(sort -> sort.field(f -> f.field("@timestamp").order(SortOrder.Desc))),
             ThreatEvent.class
         );
@@ -87,117 +118,170 @@ public class ElasticsearchService {
      * 최근 N분 패킷 개수
      */
     public long countRecentPackets(int minutes) throws IOException {
-        String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
-        
-        SearchResponse<Packet> response = elasticsearchClient.search(s -> s
-            .index(packetIndex + "-*")
-            .size(0)
-            .query(q -> q
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, "countRecentPackets:" + minutes, 0L, client -> {
+            String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
+
+            return windowCount(client, packetIndex + "-*", Query.of(q -> q
                 .range(r -> r
                     .field("@timestamp")
                     .gte(co.elastic.clients.json.JsonData.of(timestamp))
                 )
-            ),
-            Packet.class
-        );
-
-        return response.hits().total().value();
+            ));
+        });
     }
 
     /**
      * 특정 IP에 대한 최근 N분 위협 개수
      */
     public long countThreatsForIp(String ipAddress, int minutes) throws IOException {
-        try {
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, "countThreatsForIp:" + ipAddress + ":" + minutes, 0L, client -> {
             String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
 
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                            .index(threatIndex + "-*")
-                            .size(0)
-                            .query(q -> q.bool(b -> b
-                                    .must(m -> m.range(r -> r
-                                            .field("@timestamp")
-                                            .gte(co.elastic.clients.json.JsonData.of(timestamp))
-                                    ))
-                                    .should(sh -> sh.term(t -> t
-                                            .field("src_ip.keyword")
-                                            .value(ipAddress)
-                                    ))
-                                    .should(sh -> sh.term(t -> t
-                                            .field("dst_ip.keyword")
-                                            .value(ipAddress)
-                                    ))
-                                    .minimumShouldMatch("1")
-                            )),
-                    ThreatEvent.class
-            );
-
-            return response.hits().total().value();
-        } catch (Exception e) {
-            log.warn("IP별 위협 카운트 실패: {}", e.getMessage());
-            return 0;
-        }
+            return windowCount(client, threatIndex + "-*", Query.of(q -> q.bool(b -> b
+                .must(m -> m.range(r -> r
+                    .field("@timestamp")
+                    .gte(co.elastic.clients.json.JsonData.of(timestamp))
+                ))
+                .should(sh -> sh.term(t -> t
+                    .field(fields.keyword("src_ip"))
+                    .value(ipAddress)
+                ))
+                .should(sh -> sh.term(t -> t
+                    .field(fields.keyword("dst_ip"))
+                    .value(ipAddress)
+                ))
+                .minimumShouldMatch("1")
+            )));
+        });
     }
 
     /**
      * 특정 IP에 대한 최근 N분 패킷 개수
      */
     public long countPacketsForIp(String ipAddress, int minutes) throws IOException {
-        try {
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, "countPacketsForIp:" + ipAddress + ":" + minutes, 0L, client -> {
             String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
 
-            SearchResponse<Packet> response = elasticsearchClient.search(s -> s
-                            .index(packetIndex + "-*")
-                            .size(0)
-                            .query(q -> q.bool(b -> b
-                                    .must(m -> m.range(r -> r
-                                            .field("@timestamp")
-                                            .gte(co.elastic.clients.json.JsonData.of(timestamp))
-                                    ))
-                                    .should(sh -> sh.term(t -> t
-                                            .field("src_ip.keyword")
-                                            .value(ipAddress)
-                                    ))
-                                    .should(sh -> sh.term(t -> t
-                                            .field("dst_ip.keyword")
-                                            .value(ipAddress)
-                                    ))
-                                    .minimumShouldMatch("1")
-                            )),
-                    Packet.class
-            );
+            return windowCount(client, packetIndex + "-*", Query.of(q -> q.bool(b -> b
+                .must(m -> m.range(r -> r
+                    .field("@timestamp")
+                    .gte(co.elastic.clients.json.JsonData.of(timestamp))
+                ))
+                .should(sh -> sh.term(t -> t
+                    .field(fields.keyword("src_ip"))
+                    .value(ipAddress)
+                ))
+                .should(sh -> sh.term(t -> t
+                    .field(fields.keyword("dst_ip"))
+                    .value(ipAddress)
+                ))
+                .minimumShouldMatch("1")
+            )));
+        });
+    }
 
-            return response.hits().total().value();
-        } catch (Exception e) {
-            log.warn("IP별 패킷 카운트 실패: {}", e.getMessage());
-            return 0;
+    /**
+     * 여러 IP 의 최근 위협/트래픽 여부를 한 번의 요청으로 조회
+     * - 위협/패킷 인덱스를 함께 검색하되, 인덱스마다 자기 시간 구간만 읽도록 (위협 AND 위협 구간) OR (패킷 AND 패킷 구간)
+     *   으로 조회하고 _index 별 filter 집계로 나눈다.
+     * - src/dst terms 집계는 요청한 IP 목록으로 include 를 제한한다.
+     */
+    public IpActivity getIpActivity(Collection<String> ipAddresses, int threatMinutes, int packetMinutes) throws IOException {
+        List<String> ips = ipAddresses.stream()
+            .filter(Objects::nonNull)
+            .map(String::trim)
+            .filter(ip -> !ip.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+        if (ips.isEmpty()) {
+            return new IpActivity(new HashSet<>(), new HashSet<>());
         }
+
+        Instant now = Instant.now();
+        Query threatWindow = indexWindow(threatIndex + "-", now.minus(threatMinutes, ChronoUnit.MINUTES));
+        Query packetWindow = indexWindow(packetIndex + "-", now.minus(packetMinutes, ChronoUnit.MINUTES));
+
+        SearchResponse<Void> response = elasticsearchClient.search(s -> s
+            .index(threatIndex + "-*", packetIndex + "-*")
+            .size(0)
+            .query(q -> q.bool(b -> b
+                .should(threatWindow)
+                .should(packetWindow)
+                .minimumShouldMatch("1")
+            ))
+            .aggregations("threats", agg -> agg
+                .filter(f -> f.prefix(p -> p.field("_index").value(threatIndex + "-")))
+                .aggregations("src", sub -> ipTerms(sub, fields.keyword("src_ip"), ips))
+                .aggregations("dst", sub -> ipTerms(sub, fields.keyword("dst_ip"), ips))
+            )
+            .aggregations("packets", agg -> agg
+                .filter(f -> f.prefix(p -> p.field("_index").value(packetIndex + "-")))
+                .aggregations("src", sub -> ipTerms(sub, fields.keyword("src_ip"), ips))
+                .aggregations("dst", sub -> ipTerms(sub, fields.keyword("dst_ip"), ips))
+            ),
+            Void.class
+        );
+
+        return new IpActivity(
+            collectFilteredIps(response.aggregations().get("threats")),
+            collectFilteredIps(response.aggregations().get("packets"))
+        );
+    }
+
+    /**
+     * IP 별 최근 활동 여부
+     * @param threatIps 위협 구간 내 src/dst 로 등장한 IP
+     * @param trafficIps 트래픽 구간 내 src/dst 로 등장한 IP
+     */
+    public record IpActivity(Set<String> threatIps, Set<String> trafficIps) {
+    }
+
+    /**
+     * indexPrefix 로 시작하는 인덱스의 since 이후 문서
+     */
+    private static Query indexWindow(String indexPrefix, Instant since) {
+        return Query.of(q -> q.bool(b -> b
+            .filter(fq -> fq.prefix(p -> p.field("_index").value(indexPrefix)))
+            .filter(fq -> fq.range(r -> r.field("@timestamp").gte(JsonData.of(since.toString()))))
+        ));
+    }
+
+    private Aggregation.Builder.ContainerBuilder ipTerms(Aggregation.Builder sub, String field, List<String> ips) {
+        return sub.terms(t -> t
+            .field(field)
+            .include(i -> i.terms(ips))
+            .size(ips.size())
+        );
+    }
+
+    private Set<String> collectFilteredIps(Aggregate filtered) {
+        Set<String> ips = new HashSet<>();
+        if (filtered == null) {
+            return ips;
+        }
+        for (String name : List.of("src", "dst")) {
+            Aggregate terms = filtered.filter().aggregations().get(name);
+            if (terms != null) {
+                terms.sterms().buckets().array().forEach(bucket -> ips.add(bucket.key().stringValue()));
+            }
+        }
+        return ips;
     }
 
     /**
      * 최근 N분 위협 개수
      */
     public long countRecentThreats(int minutes) throws IOException {
-        try {
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, "countRecentThreats:" + minutes, 0L, client -> {
             String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
-            
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                .index(threatIndex + "-*")
-                .size(0)
-                .query(q -> q
-                    .range(r -> r
-                        .field("@timestamp")
-                        .gte(co.elastic.clients.json.JsonData.of(timestamp))
-                    )
-                ),
-                ThreatEvent.class
-            );
 
-            return response.hits().total().value();
-        } catch (Exception e) {
-            log.warn("최근 위협 카운트 실패 (인덱스 없음): {}", e.getMessage());
-            return 0;
-        }
+            return windowCount(client, threatIndex + "-*", Query.of(q -> q
+                .range(r -> r
+                    .field("@timestamp")
+                    .gte(co.elastic.clients.json.JsonData.of(timestamp))
+                )
+            ));
+        });
     }
 
     /**
@@ -219,20 +303,18 @@ public class ElasticsearchService {
             throw new IllegalArgumentException("startSecondsAgo 는 endSecondsAgo 보다 커야 합니다.");
         }
 
-        Instant now = Instant.now();
-        Instant startInstant = now.minus(startSecondsAgo, ChronoUnit.SECONDS);
-        Instant endInstant = now.minus(endSecondsAgo, ChronoUnit.SECONDS);
-
-        CountResponse response = elasticsearchClient.count(c -> c
-                .index(packetIndex + "-*")
-                .query(q -> q.range(r -> r
-                        .field("@timestamp")
-                        .gte(JsonData.of(startInstant.toString()))
-                        .lt(JsonData.of(endInstant.toString()))
-                ))
-        );
+        String cacheKey = "countPacketsBetweenSeconds:" + startSecondsAgo + ":" + endSecondsAgo;
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, cacheKey, 0L, client -> {
+            Instant now = Instant.now();
+            Instant startInstant = now.minus(startSecondsAgo, ChronoUnit.SECONDS);
+            Instant endInstant = now.minus(endSecondsAgo, ChronoUnit.SECONDS);
 
-        return response.count();
+            return windowCount(client, packetIndex + "-*", Query.of(q -> q.range(r -> r
+                    .field("@timestamp")
+                    .gte(JsonData.of(startInstant.toString()))
+                    .lt(JsonData.of(endInstant.toString()))
+            )));
+        });
     }
 
 
@@ -248,30 +330,21 @@ public class ElasticsearchService {
             return 0;
         }
 
-        try {
+        String cacheKey = "countThreatsByLevelsSince:" + String.join(",", levels) + ":" + minutes;
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, cacheKey, 0L, client -> {
             String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
 
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                    .index(threatIndex + "-*")
-                    .size(0)
-                    .query(q -> q.bool(b -> b
-                            .must(m -> m.range(r -> r
-                                    .field("@timestamp")
-                                    .gte(JsonData.of(timestamp))
-                            ))
-                            .must(m -> m.terms(t -> t
-                                    .field("threat_level.keyword")
-                                    .terms(tt -> tt.value(levelValues))
-                            ))
-                    )),
-                    ThreatEvent.class
-            );
-
-            return response.hits().total().value();
-        } catch (Exception e) {
-            log.warn("레벨별 위협 카운트 실패: {}", e.getMessage());
-            return 0;
-        }
+            return windowCount(client, threatIndex + "-*", Query.of(q -> q.bool(b -> b
+                .must(m -> m.range(r -> r
+                    .field("@timestamp")
+                    .gte(JsonData.of(timestamp))
+                ))
+                .must(m -> m.terms(t -> t
+                    .field(fields.keyword("threat_level"))
+                    .terms(tt -> tt.value(levelValues))
+                ))
+            )));
+        });
     }
 
     /**
@@ -286,37 +359,52 @@ public class ElasticsearchService {
             return 0;
         }
 
-        try {
+        String cacheKey = "countThreatsByStatusesSince:" + String.join(",", statuses) + ":" + minutes;
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, cacheKey, 0L, client -> {
+            String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
+
+            return windowCount(client, threatIndex + "-*", Query.of(q -> q.bool(b -> b
+                .must(m -> m.range(r -> r
+                    .field("@timestamp")
+                    .gte(JsonData.of(timestamp))
+                ))
+                .must(m -> m.terms(t -> t
+                    .field(fields.keyword("status"))
+                    .terms(tt -> tt.value(statusValues))
+                ))
+            )));
+        });
+    }
+
+    /**
+     * 최근 N분 내 출발지 IP 기준 유니크 카운트 (cardinality 집계, precision_threshold 이하에서는 거의 정확)
+     */
+    public long countUniqueSourceIps(int minutes) throws IOException {
+        String cacheKey = "countUniqueSourceIps:" + minutes;
+        return guard.call(ElasticsearchGuard.QueryType.AGGREGATION, cacheKey, 0L, client -> {
             String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
 
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
+            SearchResponse<ThreatEvent> response = client.search(s -> s
                     .index(threatIndex + "-*")
                     .size(0)
-                    .query(q -> q.bool(b -> b
-                            .must(m -> m.range(r -> r
-                                    .field("@timestamp")
-                                    .gte(JsonData.of(timestamp))
-                            ))
-                            .must(m -> m.terms(t -> t
-                                    .field("status.keyword")
-                                    .terms(tt -> tt.value(statusValues))
-                            ))
+                    .query(q -> q.range(r -> r
+                            .field("@timestamp")
+                            .gte(JsonData.of(timestamp))
+                    ))
+                    .aggregations("unique_src", agg -> agg.cardinality(c -> c
+                            .field(fields.keyword("src_ip"))
+                            .precisionThreshold(CARDINALITY_PRECISION_THRESHOLD)
                     )),
                     ThreatEvent.class
             );
 
-            return response.hits().total().value();
-        } catch (Exception e) {
-            log.warn("상태별 위협 카운트 실패: {}", e.getMessage());
-            return 0;
-        }
-    }
-
-    /**
-     * 최근 N분 내 출발지 IP 기준 유니크 카운트
-     */
-    public long countUniqueSourceIps(int minutes) throws IOException {
-        return getUniqueSourceIps(minutes).size();
+            Aggregate uniqueSrc = response.aggregations().get("unique_src");
+            if (uniqueSrc == null) {
+                return 0L;
+            }
+            CardinalityAggregate cardinality = uniqueSrc.cardinality();
+            return cardinality.value();
+        });
     }
 
 
@@ -324,13 +412,13 @@ public class ElasticsearchService {
      * 위협 레벨별 집계
      */
     public Map<String, Long> aggregateThreatsByLevel() throws IOException {
-        try {
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
+        return guard.call(ElasticsearchGuard.QueryType.AGGREGATION, "aggregateThreatsByLevel", new HashMap<>(), client -> {
+            SearchResponse<ThreatEvent> response = client.search(s -> s
                 .index(threatIndex + "-*")
                 .size(0)
                 .aggregations("by_level", a -> a
                     .terms(t -> t
-                        .field("threat_level.keyword")
+                        .field(fields.keyword("threat_level"))
                         .size(10)
                     )
                 ),
@@ -349,23 +437,20 @@ public class ElasticsearchService {
             }
 
             return result;
-        } catch (Exception e) {
-            log.warn("위협 레벨 집계 실패 (인덱스 없음): {}", e.getMessage());
-            return new HashMap<>();
-        }
+        });
     }
 
     /**
      * 위협 타입별 집계
      */
     public Map<String, Long> aggregateThreatsByType() throws IOException {
-        try {
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
+        return guard.call(ElasticsearchGuard.QueryType.AGGREGATION, "aggregateThreatsByType", new HashMap<>(), client -> {
+            SearchResponse<ThreatEvent> response = client.search(s -> s
                 .index(threatIndex + "-*")
                 .size(0)
                 .aggregations("by_type", a -> a
                     .terms(t -> t
-                        .field("threat_type.keyword")
+                        .field(fields.keyword("threat_type"))
                         .size(10)
                     )
                 ),
@@ -384,60 +469,29 @@ public class ElasticsearchService {
             }
 
             return result;
-        } catch (Exception e) {
-            log.warn("위협 타입 집계 실패 (인덱스 없음): {}", e.getMessage());
-            return new HashMap<>();
-        }
+        });
     }
 
     /**
      * 프로토콜별 집계
      */
     public Map<String, Long> aggregatePacketsByProtocol() throws IOException {
-        SearchResponse<Packet> response = elasticsearchClient.search(s -> s
-            .index(packetIndex + "-*")
-            .size(0)
-            .aggregations("by_protocol", a -> a
-                .terms(t -> t
-                    .field("protocol.keyword")
-                    .size(10)
-                )
-            ),
-            Packet.class
-        );
-
-        Map<String, Long> result = new HashMap<>();
-        StringTermsAggregate aggregate = response.aggregations()
-            .get("by_protocol")
-            .sterms();
-
-        for (StringTermsBucket bucket : aggregate.buckets().array()) {
-            result.put(bucket.key().stringValue(), bucket.docCount());
-        }
-
-        return result;
-    }
-
-    /**
-     * Top 공격 소스 IP
-     */
-    public Map<String, Long> getTopAttackerIps(int limit) throws IOException {
-        try {
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                .index(threatIndex + "-*")
+        return guard.call(ElasticsearchGuard.QueryType.AGGREGATION, "aggregatePacketsByProtocol", new HashMap<>(), client -> {
+            SearchResponse<Packet> response = client.search(s -> s
+                .index(packetIndex + "-*")
                 .size(0)
-                .aggregations("top_attackers", a -> a
+                .aggregations("by_protocol", a -> a
                     .terms(t -> t
-                        .field("src_ip.keyword")
-                        .size(limit)
+                        .field(fields.keyword("protocol"))
+                        .size(10)
                     )
                 ),
-                ThreatEvent.class
+                Packet.class
             );
 
             Map<String, Long> result = new HashMap<>();
             StringTermsAggregate aggregate = response.aggregations()
-                .get("top_attackers")
+                .get("by_protocol")
                 .sterms();
 
             for (StringTermsBucket bucket : aggregate.buckets().array()) {
@@ -445,86 +499,68 @@ public class ElasticsearchService {
             }
 
             return result;
-        } catch (Exception e) {
-            log.warn("공격자 IP 집계 실패 (인덱스 없음): {}", e.getMessage());
-            return new HashMap<>();
-        }
+        });
     }
 
     /**
-     * Top 공격 대상 IP
+     * 전체 패킷 개수
      */
-    public Map<String, Long> getTopTargetIps(int limit) throws IOException {
-        try {
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                .index(threatIndex + "-*")
-                .size(0)
-                .aggregations("top_targets", a -> a
-                    .terms(t -> t
-                        .field("dst_ip.keyword")
-                        .size(limit)
-                    )
-                ),
-                ThreatEvent.class
+    public long getTotalPackets() throws IOException {
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, "getTotalPackets", 0L, client -> {
+            CountResponse response = client.count(c -> c
+                .index(packetIndex + "-*")
             );
-
-            Map<String, Long> result = new HashMap<>();
-            StringTermsAggregate aggregate = response.aggregations()
-                .get("top_targets")
-                .sterms();
-
-            for (StringTermsBucket bucket : aggregate.buckets().array()) {
-                result.put(bucket.key().stringValue(), bucket.docCount());
-            }
-
-            return result;
-        } catch (Exception e) {
-            log.warn("공격 대상 IP 집계 실패 (인덱스 없음): {}", e.getMessage());
-            return new HashMap<>();
-        }
+            return response.count();
+        });
     }
 
     /**
-     * 전체 패킷 개수
+     * 전체 트래픽 바이트 합계
      */
-    public long getTotalPackets() throws IOException {
-        SearchResponse<Packet> response = elasticsearchClient.search(s -> s
-            .index(packetIndex + "-*")
-            .size(0),
-            Packet.class
-        );
-        return response.hits().total().value();
+    public long getTotalBytes() throws IOException {
+        return guard.call(ElasticsearchGuard.QueryType.AGGREGATION, "getTotalBytes", 0L, client -> {
+            SearchResponse<Packet> response = client.search(s -> s
+                .index(packetIndex + "-*")
+                .size(0)
+                .aggregations("total_bytes", a -> a.sum(sum -> sum.field("bytes"))),
+                Packet.class
+            );
+
+            Aggregate totalBytes = response.aggregations().get("total_bytes");
+            return totalBytes != null ? Math.round(totalBytes.sum().value()) : 0L;
+        });
     }
 
     /**
      * 전체 위협 개수
      */
     public long getTotalThreats() throws IOException {
-        try {
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
+        return guard.call(ElasticsearchGuard.QueryType.COUNT, "getTotalThreats", 0L, client -> {
+            CountResponse response = client.count(c -> c
                             .index(threatIndex + "-*")
-                            .size(0),
-                    ThreatEvent.class
             );
-            return response.hits().total().value();
-        } catch (Exception e) {
-            log.warn("위협 인덱스 조회 실패 (인덱스 없음): {}", e.getMessage());
-            return 0;
-        }
+            return response.count();
+        });
     }
 
     /**
      * 시간대별 트래픽 데이터 조회 (24시간)
-     * @return 시간대별 트래픽량과 위협 정보를 담은 Map 리스트
+     * - 동일한 집계 요청에서 bytes/packets 합계를 함께 계산하여 실제 bps/pps 를 반환한다.
+     * @return 시간대별 트래픽량 시계열
      */
-    public List<Map<String, Object>> getHourlyTrafficData() throws IOException {
+    public TrafficSeriesDTO getHourlyTrafficData() throws IOException {
         log.info("=== getHourlyTrafficData() 호출됨 ===");
-        try {
+        return guard.call(ElasticsearchGuard.QueryType.TIMESERIES, "getHourlyTrafficData", new TrafficSeriesDTO(), client -> {
             // 24시간 전부터 현재까지
-            String timestamp = Instant.now().minus(24, ChronoUnit.HOURS).toString();
+            Instant since = Instant.now().minus(24, ChronoUnit.HOURS);
+            if (packetRollupService.isCaughtUp()) {
+                return toHourlyTraffic(rollupBuckets(client, since, HOUR_MILLIS));
+            }
+
+            String timestamp = since.toString();
             log.info("시간대별 트래픽 조회 시작 - 인덱스: {}-*, 시작시간: {}", packetIndex, timestamp);
 
-            SearchResponse<Packet> response = elasticsearchClient.search(s -> s
+            SearchResponse<Packet> response = client.search(s -> s
                 .index(packetIndex + "-*")
                 .size(0)
                 .query(q -> q
@@ -538,13 +574,16 @@ public class ElasticsearchService {
                         .field("@timestamp")
                         .fixedInterval(fi -> fi.time("1h"))
                     )
+                    .aggregations("bytes", sub -> sub.sum(sum -> sum.field("bytes")))
+                    // packets 필드가 없는 문서(단일 패킷 레코드)는 패킷 1개로 합산
+                    .aggregations("packets", sub -> sub.sum(sum -> sum.field("packets").missing(FieldValue.of(1))))
                 ),
                 Packet.class
             );
 
             log.info("Elasticsearch 응답 - total hits: {}", response.hits().total().value());
 
-            List<Map<String, Object>> result = new ArrayList<>();
+            TrafficSeriesDTO result = new TrafficSeriesDTO(25);
 
             if (response.aggregations().get("by_hour") != null) {
                 var buckets = response.aggregations()
@@ -556,22 +595,12 @@ public class ElasticsearchService {
                 log.info("버킷 개수: {}", buckets.size());
 
                 for (var bucket : buckets) {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("time", bucket.keyAsString());
                     long packetCount = bucket.docCount();
-                    data.put("count", packetCount);
-
-                    // 패킷 개수를 기반으로 트래픽 추정
-                    // 평균 패킷 크기를 1500 bytes로 가정 (Ethernet MTU)
-                    double avgPacketSize = 1500.0; // bytes
-                    double totalBytes = (double) packetCount * avgPacketSize;
-                    // bytes를 Mbps로 변환 (1시간 = 3600초)
-                    double mbps = (totalBytes * 8.0) / (1024.0 * 1024.0 * 3600.0);
-                    double roundedMbps = Math.round(mbps * 100.0) / 100.0;
-                    data.put("value", roundedMbps);
-
-                    result.add(data);
-                    log.debug("버킷: time={}, count={}, bytes={}, mbps={}", bucket.keyAsString(), packetCount, totalBytes, roundedMbps);
+                    long totalBytes = sumValue(bucket, "bytes");
+                    long totalPackets = sumValue(bucket, "packets");
+
+                    addTrafficBucket(result, bucket.key(), packetCount, totalBytes, totalPackets);
+                    log.debug("버킷: time={}, count={}, bytes={}, packets={}", bucket.keyAsString(), packetCount, totalBytes, totalPackets);
                 }
             } else {
                 log.warn("집계 데이터 없음!");
@@ -579,24 +608,21 @@ public class ElasticsearchService {
 
             log.info("반환할 결과 개수: {}", result.size());
             return result;
-        } catch (Exception e) {
-            log.error("시간대별 트래픽 데이터 조회 실패: {}", e.getMessage(), e);
-            e.printStackTrace();
-            return new ArrayList<>();
-        }
+        });
     }
 
     /**
      * 시간대별 위협 데이터 조회 (24시간)
-     * @return 시간대별 위협 발생 횟수를 담은 Map 리스트
+     * @return 시간대별 위협 발생 횟수 시계열
      */
-    public List<Map<String, Object>> getHourlyThreatData() throws IOException {
+    public CountSeriesDTO getHourlyThreatData() throws IOException {
         log.info("=== getHourlyThreatData() 호출됨 ===");
-        try {
+        return guard.call(ElasticsearchGuard.QueryType.TIMESERIES, "getHourlyThreatData",
+                new CountSeriesDTO("time", TimeKeyFormat.ES_BUCKET, 1), client -> {
             String timestamp = Instant.now().minus(24, ChronoUnit.HOURS).toString();
             log.info("시간대별 위협 조회 시작 - 인덱스: {}-*, 시작시간: {}", threatIndex, timestamp);
 
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
+            SearchResponse<ThreatEvent> response = client.search(s -> s
                 .index(threatIndex + "-*")
                 .size(0)
                 .query(q -> q
@@ -614,7 +640,7 @@ public class ElasticsearchService {
                 ThreatEvent.class
             );
 
-            List<Map<String, Object>> result = new ArrayList<>();
+            CountSeriesDTO result = new CountSeriesDTO("time", TimeKeyFormat.ES_BUCKET, 25);
 
             if (response.aggregations().get("by_hour") != null) {
                 var buckets = response.aggregations()
@@ -624,32 +650,31 @@ public class ElasticsearchService {
                     .array();
 
                 for (var bucket : buckets) {
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("time", bucket.keyAsString());
-                    data.put("count", bucket.docCount());
-                    result.add(data);
+                    result.add(bucket.key(), bucket.docCount());
                 }
             }
 
             return result;
-        } catch (Exception e) {
-            log.warn("시간대별 위협 데이터 조회 실패: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+        });
     }
 
     /**
      * 7일 평균 트래픽 데이터 조회 (시간대별)
-     * @return 시간대별 평균 트래픽량을 담은 Map 리스트
+     * @return 시간대별 평균 트래픽량(Mbps, bps, pps)
      */
-    public List<Map<String, Object>> getWeeklyAverageTraffic() throws IOException {
+    public HourlyAverageDTO getWeeklyAverageTraffic() throws IOException {
         log.info("=== getWeeklyAverageTraffic() 호출됨 ===");
-        try {
+        return guard.call(ElasticsearchGuard.QueryType.TIMESERIES, "getWeeklyAverageTraffic", new HourlyAverageDTO(), client -> {
             // 7일 전부터 현재까지
-            String timestamp = Instant.now().minus(7, ChronoUnit.DAYS).toString();
+            Instant since = Instant.now().minus(7, ChronoUnit.DAYS);
+            if (packetRollupService.isCaughtUp()) {
+                return toWeeklyAverage(rollupBuckets(client, since, HOUR_MILLIS));
+            }
+
+            String timestamp = since.toString();
             log.info("7일 평균 트래픽 조회 시작 - 인덱스: {}-*, 시작시간: {}", packetIndex, timestamp);
 
-            SearchResponse<Packet> response = elasticsearchClient.search(s -> s
+            SearchResponse<Packet> response = client.search(s -> s
                 .index(packetIndex + "-*")
                 .size(0)
                 .query(q -> q
@@ -663,15 +688,17 @@ public class ElasticsearchService {
                         .field("@timestamp")
                         .fixedInterval(fi -> fi.time("1h"))
                     )
+                    .aggregations("bytes", sub -> sub.sum(sum -> sum.field("bytes")))
+                    // packets 필드가 없는 문서(단일 패킷 레코드)는 패킷 1개로 합산
+                    .aggregations("packets", sub -> sub.sum(sum -> sum.field("packets").missing(FieldValue.of(1))))
                 ),
                 Packet.class
             );
 
             // 시간대별(0-23시)로 그룹화하여 평균 계산
-            Map<Integer, List<Double>> hourlyValues = new HashMap<>();
-            for (int i = 0; i < 24; i++) {
-                hourlyValues.put(i, new ArrayList<>());
-            }
+            double[] bytesByHour = new double[24];
+            double[] packetsByHour = new double[24];
+            int[] samplesByHour = new int[24];
 
             if (response.aggregations().get("by_hour") != null) {
                 var buckets = response.aggregations()
@@ -680,50 +707,33 @@ public class ElasticsearchService {
                     .buckets()
                     .array();
 
-                double avgPacketSize = 1500.0; // bytes
-
                 for (var bucket : buckets) {
-                    String timeStr = bucket.keyAsString();
-                    Instant instant = Instant.parse(timeStr);
+                    Instant instant = Instant.ofEpochMilli(bucket.key());
                     int hour = instant.atZone(java.time.ZoneId.systemDefault()).getHour();
 
-                    long packetCount = bucket.docCount();
-                    double totalBytes = (double) packetCount * avgPacketSize;
-                    double mbps = (totalBytes * 8.0) / (1024.0 * 1024.0 * 3600.0);
-                    hourlyValues.get(hour).add(mbps);
+                    bytesByHour[hour] += sumValue(bucket, "bytes");
+                    packetsByHour[hour] += sumValue(bucket, "packets");
+                    samplesByHour[hour]++;
                 }
             }
 
-            // 평균 계산
-            List<Map<String, Object>> result = new ArrayList<>();
-            for (int hour = 0; hour < 24; hour++) {
-                List<Double> values = hourlyValues.get(hour);
-                double average = values.isEmpty() ? 0 :
-                    values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-
-                Map<String, Object> data = new HashMap<>();
-                data.put("hour", hour);
-                data.put("value", Math.round(average * 100.0) / 100.0);
-                result.add(data);
-            }
-
-            return result;
-        } catch (Exception e) {
-            log.error("7일 평균 트래픽 데이터 조회 실패: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+            return toHourlyAverage(bytesByHour, packetsByHour, samplesByHour);
+        });
     }
 
     /**
      * 7일간 프로토콜 분포 (일별)
      */
-    public List<Map<String, Object>> getWeeklyProtocolDistribution() throws IOException {
-        try {
+    public ProtocolSeriesDTO getWeeklyProtocolDistribution() throws IOException {
+        return guard.call(ElasticsearchGuard.QueryType.TIMESERIES, "getWeeklyProtocolDistribution", new ProtocolSeriesDTO(), client -> {
             Instant now = Instant.now();
             Instant weekAgo = now.minus(7, ChronoUnit.DAYS);
+            if (packetRollupService.isCaughtUp()) {
+                return toDailyProtocols(rollupBuckets(client, weekAgo, DAY_MILLIS));
+            }
 
             // 7일간 일별 프로토콜 집계
-            SearchResponse<Packet> response = elasticsearchClient.search(s -> s
+            SearchResponse<Packet> response = client.search(s -> s
                 .index(packetIndex + "-*")
                 .size(0)
                 .query(q -> q
@@ -740,7 +750,7 @@ public class ElasticsearchService {
                     )
                     .aggregations("by_protocol", subAgg -> subAgg
                         .terms(t -> t
-                            .field("protocol.keyword")
+                            .field(fields.keyword("protocol"))
                             .size(20)
                         )
                     )
@@ -748,7 +758,7 @@ public class ElasticsearchService {
                 Packet.class
             );
 
-            List<Map<String, Object>> result = new ArrayList<>();
+            ProtocolSeriesDTO result = new ProtocolSeriesDTO(8);
 
             if (response.aggregations().get("by_day") != null) {
                 DateHistogramAggregate byDay = response.aggregations()
@@ -756,138 +766,99 @@ public class ElasticsearchService {
                     .dateHistogram();
 
                 for (DateHistogramBucket dayBucket : byDay.buckets().array()) {
-                    Map<String, Object> dayData = new HashMap<>();
-                    dayData.put("date", dayBucket.keyAsString());
-                    dayData.put("timestamp", dayBucket.key());
+                    int day = result.addDay(dayBucket.key(), dayBucket.docCount());
 
-                    Map<String, Long> protocols = new HashMap<>();
                     if (dayBucket.aggregations().get("by_protocol") != null) {
                         StringTermsAggregate byProtocol = dayBucket.aggregations()
                             .get("by_protocol")
                             .sterms();
 
                         for (StringTermsBucket protocolBucket : byProtocol.buckets().array()) {
-                            protocols.put(protocolBucket.key().stringValue(), protocolBucket.docCount());
+                            result.addProtocol(day, protocolBucket.key().stringValue(), protocolBucket.docCount());
                         }
                     }
-
-                    dayData.put("protocols", protocols);
-                    dayData.put("total", dayBucket.docCount());
-                    result.add(dayData);
                 }
             }
 
             return result;
-        } catch (Exception e) {
-            log.error("7일간 프로토콜 분포 조회 실패: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+        });
     }
 
     /**
-     * Elasticsearch에서 활성 장비 IP 목록 조회
-     * (최근 5분 내 src_ip 또는 dst_ip로 트래픽이 있는 IP)
+     * since 이후 src_ip / dst_ip 로 등장한 모든 IP 와 마지막 관측 시각(epoch ms)
+     * - terms 집계의 size 제한으로 잘리지 않도록 composite 집계를 끝까지 페이징한다.
      */
-    public List<String> getActiveDeviceIps() throws IOException {
-        try {
-            String timestamp = Instant.now().minus(5, ChronoUnit.MINUTES).toString();
+    public Map<String, Long> getLastSeenByIp(Instant since) throws IOException {
+        Map<String, Long> lastSeen = new HashMap<>();
+        collectLastSeen(fields.keyword("src_ip"), since, lastSeen);
+        collectLastSeen(fields.keyword("dst_ip"), since, lastSeen);
+        return lastSeen;
+    }
 
-            // src_ip aggregation
+    private void collectLastSeen(String field, Instant since, Map<String, Long> lastSeen) throws IOException {
+        Map<String, FieldValue> afterKey = null;
+        do {
+            Map<String, FieldValue> after = afterKey;
             SearchResponse<Packet> response = elasticsearchClient.search(s -> s
                 .index(packetIndex + "-*")
                 .size(0)
                 .query(q -> q.range(r -> r
                     .field("@timestamp")
-                    .gte(co.elastic.clients.json.JsonData.of(timestamp))
-                ))
-                .aggregations("src_ips", agg -> agg.terms(t -> t
-                    .field("src_ip.keyword")
-                    .size(1000)
+                    .gte(JsonData.of(since.toString()))
                 ))
-                .aggregations("dst_ips", agg -> agg.terms(t -> t
-                    .field("dst_ip.keyword")
-                    .size(1000)
-                )),
+                .aggregations("ips", agg -> agg
+                    .composite(c -> {
+                        c.size(COMPOSITE_PAGE_SIZE)
+                            .sources(List.of(Map.of("ip",
+                                CompositeAggregationSource.of(src -> src.terms(t -> t.field(field))))));
+                        if (after != null) {
+                            c.after(after);
+                        }
+                        return c;
+                    })
+                    .aggregations("last_seen", sub -> sub.max(m -> m.field("@timestamp")))
+                ),
                 Packet.class
             );
 
-            Set<String> activeIps = new HashSet<>();
-
-            // src_ip 수집
-            if (response.aggregations().get("src_ips") != null) {
-                StringTermsAggregate srcIps = response.aggregations()
-                    .get("src_ips")
-                    .sterms();
-                for (var bucket : srcIps.buckets().array()) {
-                    activeIps.add(bucket.key().stringValue());
-                }
+            Aggregate ips = response.aggregations().get("ips");
+            if (ips == null) {
+                return;
             }
 
-            // dst_ip 수집
-            if (response.aggregations().get("dst_ips") != null) {
-                StringTermsAggregate dstIps = response.aggregations()
-                    .get("dst_ips")
-                    .sterms();
-                for (var bucket : dstIps.buckets().array()) {
-                    activeIps.add(bucket.key().stringValue());
+            CompositeAggregate composite = ips.composite();
+            for (CompositeBucket bucket : composite.buckets().array()) {
+                FieldValue ip = bucket.key().get("ip");
+                if (ip == null || !ip.isString()) {
+                    continue;
                 }
+                Aggregate max = bucket.aggregations().get("last_seen");
+                long seenAt = max != null ? (long) max.max().value() : since.toEpochMilli();
+                lastSeen.merge(ip.stringValue(), seenAt, Math::max);
             }
 
-            log.debug("활성 장비 IP 개수: {}", activeIps.size());
-            return new ArrayList<>(activeIps);
-        } catch (Exception e) {
-            log.error("활성 장비 IP 조회 실패", e);
-            return new ArrayList<>();
-        }
-    }
-
-    public Set<String> getUniqueSourceIps(int minutes) throws IOException {
-        try {
-            String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                            .index(threatIndex + "-*")
-                            .size(0)
-                            .query(q -> q.range(r -> r
-                                    .field("@timestamp")
-                                    .gte(JsonData.of(timestamp))
-                            ))
-                            .aggregations("src_ips", agg -> agg.terms(t -> t
-                                    .field("src_ip.keyword")
-                                    .size(2000)
-                            )),
-                    ThreatEvent.class
-            );
-
-            Set<String> ips = new HashSet<>();
-            if (response.aggregations().get("src_ips") != null) {
-                StringTermsAggregate agg = response.aggregations()
-                        .get("src_ips")
-                        .sterms();
-                agg.buckets().array().forEach(bucket -> ips.add(bucket.key().stringValue()));
-            }
-            return ips;
-        } catch (Exception e) {
-            log.warn("고유 출발지 IP 조회 실패: {}", e.getMessage());
-            return new HashSet<>();
-        }
+            afterKey = composite.buckets().array().isEmpty() ? null : composite.afterKey();
+        } while (afterKey != null && !afterKey.isEmpty());
     }
 
     public List<ThreatEvent> searchRecentThreats(int minutes, int size) throws IOException {
-        try {
+        String cacheKey = "searchRecentThreats:" + minutes + ":" + size;
+        return guard.call(ElasticsearchGuard.QueryType.TIMESERIES, cacheKey, new ArrayList<>(), client -> {
             String timestamp = Instant.now().minus(minutes, ChronoUnit.MINUTES).toString();
 
-            SearchResponse<ThreatEvent> response = elasticsearchClient.search(s -> s
-                            .index(threatIndex + "-*")
-                            .size(size)
-                            .query(q -> q.range(r -> r
-                                    .field("@timestamp")
-                                    .gte(JsonData.of(timestamp))
-                            ))
-                            .sort(sort -> sort.field(f -> f
-                                    .field("@timestamp")
-                                    .order(SortOrder.Desc)
-                            )),
-                    ThreatEvent.class
+            SearchResponse<ThreatEvent> response = client.search(s -> s
+                .index(threatIndex + "-*")
+                .size(size)
+                .trackTotalHits(t -> t.enabled(false))
+                .query(q -> q.range(r -> r
+                    .field("@timestamp")
+                    .gte(JsonData.of(timestamp))
+                ))
+                .sort(sort -> sort.field(f -> f
+                    .field("@timestamp")
+                    .order(SortOrder.Desc)
+                )),
+                ThreatEvent.class
             );
 
             List<ThreatEvent> threats = new ArrayList<>();
@@ -895,10 +866,133 @@ public class ElasticsearchService {
                 threats.add(hit.source());
             }
             return threats;
-        } catch (Exception e) {
-            log.warn("최근 위협 조회 실패: {}", e.getMessage());
-            return new ArrayList<>();
+        });
+    }
+
+    /**
+     * 1분 rollup 문서를 interval 단위(UTC 기준)로 다시 묶는다.
+     * date_histogram 과 동일하게 첫 버킷부터 마지막 버킷 사이의 빈 구간은 0 으로 채운다.
+     */
+    private TreeMap<Long, RollupBucket> rollupBuckets(ElasticsearchClient client, Instant since, long intervalMillis)
+            throws IOException {
+        List<PacketRollup> rollups = packetRollupService.fetchRollups(
+            client, since.truncatedTo(ChronoUnit.MINUTES), Instant.now());
+        log.debug("rollup 문서 {}건으로 집계 (interval={}ms)", rollups.size(), intervalMillis);
+
+        TreeMap<Long, RollupBucket> buckets = new TreeMap<>();
+        for (PacketRollup rollup : rollups) {
+            long minute = Instant.parse(rollup.getTimestamp()).toEpochMilli();
+            long key = Math.floorDiv(minute, intervalMillis) * intervalMillis;
+            buckets.computeIfAbsent(key, k -> new RollupBucket()).add(rollup);
+        }
+
+        if (!buckets.isEmpty()) {
+            for (long key = buckets.firstKey(); key < buckets.lastKey(); key += intervalMillis) {
+                buckets.putIfAbsent(key, new RollupBucket());
+            }
         }
+        return buckets;
+    }
+
+    private TrafficSeriesDTO toHourlyTraffic(TreeMap<Long, RollupBucket> buckets) {
+        TrafficSeriesDTO result = new TrafficSeriesDTO(buckets.size());
+        buckets.forEach((key, bucket) -> addTrafficBucket(result, key, bucket.count, bucket.bytes, bucket.packets));
+        return result;
+    }
+
+    private void addTrafficBucket(TrafficSeriesDTO series, long key, long count, long bytes, long packets) {
+        series.add(key, count, bytes, packets,
+                round2(bytes * 8.0 / HOUR_SECONDS),
+                round2(packets / HOUR_SECONDS),
+                round2(toMbps(bytes, HOUR_SECONDS)));
+    }
+
+    private HourlyAverageDTO toWeeklyAverage(TreeMap<Long, RollupBucket> buckets) {
+        double[] bytesByHour = new double[24];
+        double[] packetsByHour = new double[24];
+        int[] samplesByHour = new int[24];
+
+        buckets.forEach((key, bucket) -> {
+            int hour = Instant.ofEpochMilli(key).atZone(java.time.ZoneId.systemDefault()).getHour();
+            bytesByHour[hour] += bucket.bytes;
+            packetsByHour[hour] += bucket.packets;
+            samplesByHour[hour]++;
+        });
+
+        return toHourlyAverage(bytesByHour, packetsByHour, samplesByHour);
+    }
+
+    private HourlyAverageDTO toHourlyAverage(double[] bytesByHour, double[] packetsByHour, int[] samplesByHour) {
+        HourlyAverageDTO result = new HourlyAverageDTO();
+        for (int hour = 0; hour < HourlyAverageDTO.HOURS; hour++) {
+            int samples = samplesByHour[hour];
+            double avgBytes = samples == 0 ? 0 : bytesByHour[hour] / samples;
+            double avgPackets = samples == 0 ? 0 : packetsByHour[hour] / samples;
+
+            result.set(hour,
+                    round2(toMbps(avgBytes, HOUR_SECONDS)),
+                    round2(avgBytes * 8.0 / HOUR_SECONDS),
+                    round2(avgPackets / HOUR_SECONDS));
+        }
+        return result;
+    }
+
+    private ProtocolSeriesDTO toDailyProtocols(TreeMap<Long, RollupBucket> buckets) {
+        ProtocolSeriesDTO result = new ProtocolSeriesDTO(buckets.size());
+        buckets.forEach((key, bucket) -> {
+            int day = result.addDay(key, bucket.count);
+            bucket.protocols.forEach((protocol, count) -> result.addProtocol(day, protocol, count));
+        });
+        return result;
+    }
+
+    /**
+     * rollup 문서 재집계용 누적 버킷
+     */
+    private static class RollupBucket {
+        private long count;
+        private long bytes;
+        private long packets;
+        private final Map<String, Long> protocols = new HashMap<>();
+
+        void add(PacketRollup rollup) {
+            count += rollup.getCount() != null ? rollup.getCount() : 0L;
+            bytes += rollup.getBytes() != null ? rollup.getBytes() : 0L;
+            packets += rollup.getPackets() != null ? rollup.getPackets() : 0L;
+            if (rollup.getProtocols() != null) {
+                for (PacketRollup.TermCount term : rollup.getProtocols()) {
+                    protocols.merge(term.getKey(), term.getCount(), Long::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * 최근 구간 건수 (recent-count-limit 건까지만 세고 멈추므로, 넘으면 recent-count-limit 을 반환)
+     */
+    private long windowCount(ElasticsearchClient client, String index, Query query) throws IOException {
+        SearchResponse<Void> response = client.search(s -> s
+                .index(index)
+                .size(0)
+                .query(query)
+                .trackTotalHits(t -> t.count(recentCountLimit)),
+            Void.class
+        );
+        return response.hits().total() != null ? response.hits().total().value() : 0L;
+    }
+
+    private long sumValue(MultiBucketBase bucket, String name) {
+        Aggregate aggregate = bucket.aggregations().get(name);
+        return aggregate != null ? Math.round(aggregate.sum().value()) : 0L;
+    }
+
+    // bytes를 Mbps로 변환 (기존 차트와 동일하게 1024 * 1024 기준)
+    private double toMbps(double bytes, double seconds) {
+        return (bytes * 8.0) / (1024.0 * 1024.0 * seconds);
+    }
+
+    private double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
     }
 
     private List<FieldValue> toFieldValues(List<String> values) {
@@ -0,0 +1,193 @@
+package com.ot.security.service;
+
+import com.ot.security.entity.Threat;
+import com.ot.security.event.ThreatIngestedEvent;
+import com.ot.security.repository.ThreatRepository;
+import com.ot.security.sketch.SpaceSaving;
+import com.ot.security.sketch.WindowedSketch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 위협 출발지 / 목적지 / (출발지, 목적지) 쌍 빈도 상위 항목 추적 (Space-Saving)
+ * - 대상별로 구간 sketch(WindowedSketch)를 두고, 요청 구간의 sketch 를 병합해 Top-N 과 항목별 오차를 계산한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HeavyHitterTracker {
+
+    private static final String PAIR_SEPARATOR = "|";
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofHours(24);
+    public static final Duration MAX_WINDOW = Duration.ofDays(7);
+
+    /**
+     * 추적 대상
+     */
+    public enum Dimension {
+        SOURCE,
+        TARGET,
+        PAIR
+    }
+
+    private final ThreatRepository threatRepository;
+
+    private final Map<Dimension, WindowedSketch<SpaceSaving>> sketches = new EnumMap<>(Dimension.class);
+
+    {
+        for (Dimension dimension : Dimension.values()) {
+            sketches.put(dimension, new WindowedSketch<>(SpaceSaving::new));
+        }
+    }
+
+    /**
+     * 위협 저장 트랜잭션 커밋 후 출발지 / 목적지 반영
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThreatIngested(ThreatIngestedEvent event) {
+        Threat threat = event.getThreat();
+        record(threat.getSourceIp(), threat.getDestinationIp(), threat.getEventTimestamp());
+    }
+
+    /**
+     * 기동 시 최근 7일 위협으로 sketch 초기화
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            Instant since = Instant.now().minus(MAX_WINDOW).minus(Duration.ofHours(1));
+            List<Object[]> rows = threatRepository.findIpPairAndTimestampSince(since);
+            rows.forEach(row -> record((String) row[0], (String) row[1], (Instant) row[2]));
+            log.info("Top-N IP sketch 초기화 완료: {} 건", rows.size());
+        } catch (Exception e) {
+            log.warn("Top-N IP sketch 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void record(String sourceIp, String targetIp, Instant observedAt) {
+        String source = normalize(sourceIp);
+        String target = normalize(targetIp);
+        if (source == null && target == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long at = observedAt != null ? observedAt.toEpochMilli() : now;
+
+        add(Dimension.SOURCE, source, at, now);
+        add(Dimension.TARGET, target, at, now);
+        if (source != null && target != null) {
+            add(Dimension.PAIR, source + PAIR_SEPARATOR + target, at, now);
+        }
+    }
+
+    /**
+     * 최근 window 동안의 빈도 상위 항목
+     */
+    public synchronized List<SpaceSaving.Entry> top(Dimension dimension, Duration window, int limit) {
+        SpaceSaving merged = new SpaceSaving();
+        sketches.get(dimension).forEachIn(window, System.currentTimeMillis(), merged::merge);
+        return merged.top(limit);
+    }
+
+    /**
+     * 대시보드 위젯용 IP → 건수 (기존 topAttackerIps / topTargetIps 형식)
+     */
+    public Map<String, Long> topCounts(Dimension dimension, Duration window, int limit) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (SpaceSaving.Entry entry : top(dimension, window, limit)) {
+            result.put(entry.key(), entry.count());
+        }
+        return result;
+    }
+
+    /**
+     * 출발지 / 목적지 / 쌍 Top-N 과 오차 범위
+     */
+    public Map<String, Object> summary(Duration window, int limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("window", WindowedSketch.formatWindow(window));
+        result.put("sources", toIpEntries(top(Dimension.SOURCE, window, limit)));
+        result.put("targets", toIpEntries(top(Dimension.TARGET, window, limit)));
+        result.put("pairs", toPairEntries(top(Dimension.PAIR, window, limit)));
+        result.put("source", "space-saving");
+        return result;
+    }
+
+    /**
+     * "5m", "1h", "24h", "7d" 형식의 구간 파싱 (최대 7일)
+     */
+    public static Duration parseWindow(String window) {
+        if (window == null || window.isBlank()) {
+            return DEFAULT_WINDOW;
+        }
+        String value = window.trim().toLowerCase();
+        char unit = value.charAt(value.length() - 1);
+        long amount;
+        try {
+            amount = Long.parseLong(value.substring(0, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 구간 형식입니다: " + window);
+        }
+
+        Duration duration = switch (unit) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            case 'd' -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException("잘못된 구간 단위입니다: " + window);
+        };
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("구간은 1분 ~ 7일 사이여야 합니다: " + window);
+        }
+        return duration;
+    }
+
+    private void add(Dimension dimension, String key, long at, long now) {
+        if (key == null) {
+            return;
+        }
+        sketches.get(dimension).record(at, now, sketch -> sketch.add(key));
+    }
+
+    private List<Map<String, Object>> toIpEntries(List<SpaceSaving.Entry> entries) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SpaceSaving.Entry entry : entries) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("ip", entry.key());
+            item.put("count", entry.count());
+            item.put("error", entry.error());
+            result.add(item);
+        }
+        return result;
+    }
+
+    private List<Map<String, Object>> toPairEntries(List<SpaceSaving.Entry> entries) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SpaceSaving.Entry entry : entries) {
+            int separator = entry.key().indexOf(PAIR_SEPARATOR);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("sourceIp", entry.key().substring(0, separator));
+            item.put("targetIp", entry.key().substring(separator + 1));
+            item.put("count", entry.count());
+            item.put("error", entry.error());
+            result.add(item);
+        }
+        return result;
+    }
+
+    private String normalize(String ip) {
+        return ip == null || ip.isBlank() ? null : ip.trim();
+    }
+}
@@ -0,0 +1,303 @@
+package com.ot.security.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import com.ot.security.config.IndexFieldNames;
+import com.ot.security.entity.Packet;
+import com.ot.security.entity.PacketRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원본 패킷 인덱스를 1분 단위 요약 문서로 집계(rollup)한다.
+ * - checkpoint: rollup 이 완료된 구간의 끝 (exclusive). 재시작 시 rollup 인덱스의 마지막 문서로 복구한다.
+ * - 지연 도착 데이터: 매 실행마다 checkpoint 이전 late-minutes 구간을 다시 집계하고,
+ *   문서 ID 를 분 시작 시각으로 고정하여 덮어쓴다.
+ * - rollup 문서는 검색 가능해진 뒤(refresh=wait_for) checkpoint 를 옮기므로, checkpoint 까지는 rollup 인덱스만 읽어도 된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PacketRollupService {
+
+    private static final int PROTOCOL_BUCKETS = 20;
+    private static final int TOP_TALKERS = 10;
+    private static final int PAGE_SIZE = 5000;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final IndexFieldNames fields;
+
+    @Value("${ot-security.elasticsearch.packet-index}")
+    private String packetIndex;
+
+    @Value("${ot-security.elasticsearch.rollup-index:ics-rollup-packets}")
+    private String rollupIndex;
+
+    @Value("${ot-security.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ot-security.rollup.interval:60000}")
+    private long intervalMillis;
+
+    @Value("${ot-security.rollup.settle-seconds:60}")
+    private int settleSeconds;
+
+    @Value("${ot-security.rollup.late-minutes:5}")
+    private int lateMinutes;
+
+    @Value("${ot-security.rollup.max-minutes-per-run:180}")
+    private int maxMinutesPerRun;
+
+    @Value("${ot-security.rollup.backfill-days:${ot-security.data-retention-days:3}}")
+    private int backfillDays;
+
+    @Value("${ot-security.rollup.retention-days:30}")
+    private int retentionDays;
+
+    private volatile Instant checkpoint;
+
+    /**
+     * 대기 중인 분 구간을 집계하여 rollup 인덱스에 기록한다.
+     */
+    public synchronized void rollupPendingMinutes() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Instant upperBound = settledUpperBound();
+        if (checkpoint == null) {
+            checkpoint = restoreCheckpoint(upperBound);
+            log.info("패킷 rollup checkpoint 초기화: {}", checkpoint);
+        }
+        if (!upperBound.isAfter(checkpoint)) {
+            return;
+        }
+
+        Instant from = checkpoint.minus(lateMinutes, ChronoUnit.MINUTES);
+        Instant to = min(upperBound, checkpoint.plus(maxMinutesPerRun, ChronoUnit.MINUTES));
+
+        List<PacketRollup> rollups = aggregateMinutes(elasticsearchClient, from, to);
+        indexRollups(rollups);
+
+        checkpoint = to;
+        log.debug("패킷 rollup 완료: {} ~ {} ({} 개 문서)", from, to, rollups.size());
+    }
+
+    /**
+     * rollup 이 현재 시각까지 따라잡았는지 여부
+     */
+    public boolean isCaughtUp() {
+        Instant current = checkpoint;
+        if (!enabled || current == null) {
+            return false;
+        }
+        Duration lag = Duration.between(current, settledUpperBound());
+        return lag.toMillis() <= intervalMillis * 2;
+    }
+
+    /**
+     * 지정 구간의 1분 요약 문서 조회 (아직 rollup 되지 않은 최근 구간은 원본에서 바로 집계하여 덧붙인다)
+     * @param client 조회에 사용할 클라이언트 (대시보드 조회는 ElasticsearchGuard 가 넘겨주는 클라이언트)
+     */
+    public List<PacketRollup> fetchRollups(ElasticsearchClient client, Instant from, Instant to) throws IOException {
+        Instant rolledUntil = min(checkpoint != null ? checkpoint : from, to);
+
+        List<PacketRollup> result = new ArrayList<>();
+        List<FieldValue> searchAfter = null;
+        while (rolledUntil.isAfter(from)) {
+            List<FieldValue> after = searchAfter;
+            SearchResponse<PacketRollup> response = client.search(s -> {
+                s.index(rollupIndex)
+                        .ignoreUnavailable(true)
+                        .size(PAGE_SIZE)
+                        .query(q -> q.range(r -> r
+                                .field("@timestamp")
+                                .gte(JsonData.of(from.toString()))
+                                .lt(JsonData.of(rolledUntil.toString()))
+                        ))
+                        .sort(sort -> sort.field(f -> f.field("@timestamp").order(SortOrder.Asc)));
+                if (after != null) {
+                    s.searchAfter(after);
+                }
+                return s;
+            }, PacketRollup.class);
+
+            List<Hit<PacketRollup>> hits = response.hits().hits();
+            for (Hit<PacketRollup> hit : hits) {
+                result.add(hit.source());
+            }
+            if (hits.size() < PAGE_SIZE) {
+                break;
+            }
+            searchAfter = hits.get(hits.size() - 1).sort();
+        }
+
+        if (to.isAfter(rolledUntil)) {
+            result.addAll(aggregateMinutes(client, max(rolledUntil, from), to));
+        }
+        return result;
+    }
+
+    /**
+     * 보존 기간이 지난 rollup 문서 삭제
+     */
+    public void purgeExpired() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        var response = elasticsearchClient.deleteByQuery(d -> d
+                .index(rollupIndex)
+                .ignoreUnavailable(true)
+                .query(q -> q.range(r -> r
+                        .field("@timestamp")
+                        .lt(JsonData.of(cutoff.toString()))
+                ))
+        );
+        if (response.deleted() != null && response.deleted() > 0) {
+            log.info("🗑️  만료된 패킷 rollup 문서 삭제: {} 건 ({} 이전)", response.deleted(), cutoff);
+        }
+    }
+
+    /**
+     * 원본 패킷 인덱스에서 [from, to) 구간을 1분 단위로 집계
+     */
+    private List<PacketRollup> aggregateMinutes(ElasticsearchClient client, Instant from, Instant to)
+            throws IOException {
+        SearchResponse<Packet> response = client.search(s -> s
+                .index(packetIndex + "-*")
+                .size(0)
+                .query(q -> q.range(r -> r
+                        .field("@timestamp")
+                        .gte(JsonData.of(from.toString()))
+                        .lt(JsonData.of(to.toString()))
+                ))
+                .aggregations("by_minute", a -> a
+                        .dateHistogram(dh -> dh
+                                .field("@timestamp")
+                                .fixedInterval(fi -> fi.time("1m"))
+                        )
+                        .aggregations("bytes", sub -> sub.sum(sum -> sum.field("bytes")))
+                        // packets 필드가 없는 문서(단일 패킷 레코드)는 패킷 1개로 합산
+                        .aggregations("packets", sub -> sub.sum(sum -> sum.field("packets").missing(FieldValue.of(1))))
+                        .aggregations("protocols", sub -> sub.terms(t -> t
+                                .field(fields.keyword("protocol"))
+                                .size(PROTOCOL_BUCKETS)))
+                        .aggregations("top_src", sub -> sub.terms(t -> t
+                                .field(fields.keyword("src_ip"))
+                                .size(TOP_TALKERS)))
+                        .aggregations("top_dst", sub -> sub.terms(t -> t
+                                .field(fields.keyword("dst_ip"))
+                                .size(TOP_TALKERS)))
+                ),
+                Packet.class
+        );
+
+        List<PacketRollup> rollups = new ArrayList<>();
+        Aggregate byMinute = response.aggregations().get("by_minute");
+        if (byMinute == null) {
+            return rollups;
+        }
+
+        String rolledUpAt = Instant.now().toString();
+        for (DateHistogramBucket bucket : byMinute.dateHistogram().buckets().array()) {
+            if (bucket.docCount() == 0) {
+                continue;
+            }
+            rollups.add(PacketRollup.builder()
+                    .timestamp(Instant.ofEpochMilli(bucket.key()).toString())
+                    .count(bucket.docCount())
+                    .bytes(Math.round(bucket.aggregations().get("bytes").sum().value()))
+                    .packets(Math.round(bucket.aggregations().get("packets").sum().value()))
+                    .protocols(toTermCounts(bucket.aggregations().get("protocols")))
+                    .topSrc(toTermCounts(bucket.aggregations().get("top_src")))
+                    .topDst(toTermCounts(bucket.aggregations().get("top_dst")))
+                    .rolledUpAt(rolledUpAt)
+                    .build());
+        }
+        return rollups;
+    }
+
+    private void indexRollups(List<PacketRollup> rollups) throws IOException {
+        if (rollups.isEmpty()) {
+            return;
+        }
+
+        BulkResponse response = elasticsearchClient.bulk(b -> {
+            b.refresh(Refresh.WaitFor);
+            for (PacketRollup rollup : rollups) {
+                String id = String.valueOf(Instant.parse(rollup.getTimestamp()).toEpochMilli());
+                b.operations(op -> op.index(i -> i
+                        .index(rollupIndex)
+                        .id(id)
+                        .document(rollup)));
+            }
+            return b;
+        });
+
+        if (response.errors()) {
+            long failed = response.items().stream().filter(item -> item.error() != null).count();
+            throw new IOException("패킷 rollup 문서 " + failed + " 건 색인 실패");
+        }
+    }
+
+    /**
+     * rollup 인덱스의 마지막 문서 다음 분부터 이어서 집계한다. 문서가 없으면 backfill-days 전부터 시작한다.
+     */
+    private Instant restoreCheckpoint(Instant upperBound) throws IOException {
+        SearchResponse<PacketRollup> response = elasticsearchClient.search(s -> s
+                        .index(rollupIndex)
+                        .ignoreUnavailable(true)
+                        .size(1)
+                        .sort(sort -> sort.field(f -> f.field("@timestamp").order(SortOrder.Desc))),
+                PacketRollup.class
+        );
+
+        if (!response.hits().hits().isEmpty() && response.hits().hits().get(0).source() != null) {
+            Instant last = Instant.parse(response.hits().hits().get(0).source().getTimestamp());
+            return min(last.plus(1, ChronoUnit.MINUTES), upperBound);
+        }
+        return upperBound.minus(backfillDays, ChronoUnit.DAYS);
+    }
+
+    private Instant settledUpperBound() {
+        return Instant.now().minusSeconds(settleSeconds).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    private List<PacketRollup.TermCount> toTermCounts(Aggregate aggregate) {
+        List<PacketRollup.TermCount> counts = new ArrayList<>();
+        if (aggregate == null) {
+            return counts;
+        }
+        for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+            counts.add(new PacketRollup.TermCount(bucket.key().stringValue(), bucket.docCount()));
+        }
+        return counts;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,171 +1,313 @@
 package com.ot.security.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ot.security.cluster.ClusterEvent;
+import com.ot.security.cluster.ClusterEventBus;
+import com.ot.security.entity.Threat;
+import com.ot.security.entity.ThreatEvent;
+import com.ot.security.event.ThreatIngestedEvent;
+import com.ot.security.repository.AssetRepository;
+import com.ot.security.sse.EventAttributes;
+import com.ot.security.sse.SseFilter;
+import com.ot.security.sse.SseHub;
+import com.ot.security.sse.SseSubscriber;
+import com.ot.security.sse.SseTopic;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
 
-import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * SSE 발행 / 구독 진입점 (실제 전송은 SseHub 가 담당)
+ * - 위협 / 분석 이벤트는 ClusterEventBus 로 다른 인스턴스에도 중계해, 어느 인스턴스에 연결된 클라이언트든 한 번씩 받는다.
+ * - ES 에서 주기적으로 조회한 위협은 모든 인스턴스가 같은 결과를 보므로 중계하지 않고, 이미 보낸 위협 ID 는 다시 보내지 않는다.
+ * - 통계는 인스턴스마다 같은 저장소에서 직접 계산하므로 중계하지 않는다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SSEService {
 
-    @Value("${ot-security.sse.timeout}")
-    private long sseTimeout;
+    // 매 tick 바뀌지만 그것만으로는 변경으로 보지 않는 통계 필드
+    private static final Set<String> STATS_VOLATILE_FIELDS = Set.of("lastUpdate");
+    private static final int SENT_THREAT_IDS = 4096;
 
-    // Emitter 저장소
-    private final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
-    private final CopyOnWriteArrayList<SseEmitter> threatEmitters = new CopyOnWriteArrayList<>();
-    private final CopyOnWriteArrayList<SseEmitter> statsEmitters = new CopyOnWriteArrayList<>();
+    private final SseHub sseHub;
+    private final AssetRepository assetRepository;
+    private final ClusterEventBus clusterEventBus;
 
-    /**
-     * 일반 SSE Emitter 생성
-     */
-    public SseEmitter createEmitter() {
-        SseEmitter emitter = new SseEmitter(sseTimeout);
-        emitters.add(emitter);
-
-        emitter.onCompletion(() -> {
-            log.info("SSE 연결 완료");
-            emitters.remove(emitter);
-        });
-
-        emitter.onTimeout(() -> {
-            log.info("SSE 연결 타임아웃");
-            emitters.remove(emitter);
-        });
-
-        emitter.onError(e -> {
-            log.error("SSE 연결 오류", e);
-            emitters.remove(emitter);
-        });
-
-        // 초기 연결 메시지
-        try {
-            emitter.send(SseEmitter.event()
-                .name("connect")
-                .data("SSE 연결 성공"));
-        } catch (IOException e) {
-            log.error("초기 메시지 전송 실패", e);
+    // 최근 전송한 위협 ID (수집 / 중계 / ES 조회 경로 간 중복 방지, this 로 동기화)
+    private final Set<String> sentThreatIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > SENT_THREAT_IDS;
         }
+    });
 
-        return emitter;
+    @PostConstruct
+    void init() {
+        clusterEventBus.subscribe(this::relay);
     }
 
     /**
-     * 위협 전용 SSE Emitter 생성
+     * 일반 SSE 구독 (일반 / 위협 / 전체 통계)
+     * @param lastEventId 재연결 시 Last-Event-ID (이후 위협 / 일반 이벤트 재전송)
      */
-    public SseEmitter createThreatEmitter() {
-        SseEmitter emitter = new SseEmitter(sseTimeout);
-        threatEmitters.add(emitter);
+    public Flux<ServerSentEvent<byte[]>> subscribe(Long lastEventId) {
+        return sseHub.subscribe(EnumSet.of(SseTopic.GENERAL, SseTopic.THREATS, SseTopic.STATS), "SSE 연결 성공",
+                lastEventId);
+    }
 
-        emitter.onCompletion(() -> threatEmitters.remove(emitter));
-        emitter.onTimeout(() -> threatEmitters.remove(emitter));
-        emitter.onError(e -> threatEmitters.remove(emitter));
+    /**
+     * 위협 전용 SSE 구독
+     * @param lastEventId 재연결 시 Last-Event-ID (이후 위협 / 분석 이벤트 재전송)
+     * @param filter 서버측 필터 (null 이면 모든 위협 / 분석 이벤트)
+     */
+    public Flux<ServerSentEvent<byte[]>> subscribeThreats(Long lastEventId, SseFilter filter) {
+        return sseHub.subscribe(EnumSet.of(SseTopic.THREATS), "위협 이벤트 SSE 연결 성공", lastEventId, filter);
+    }
 
-        try {
-            emitter.send(SseEmitter.event()
-                .name("connect")
-                .data("위협 이벤트 SSE 연결 성공"));
-        } catch (IOException e) {
-            log.error("초기 메시지 전송 실패", e);
+    /**
+     * 다중 채널 SSE 구독 (한 연결에서 고른 채널의 이벤트를 중복 없이 수신)
+     * @param channels 채널 이름 (general, threats, stats, stats-delta)
+     * @param filter 이벤트형 채널(general, threats)에 적용할 서버측 필터 (null 이면 전체)
+     * @throws IllegalArgumentException 알 수 없는 채널이거나 stats 와 stats-delta 를 함께 지정했을 때
+     */
+    public Flux<ServerSentEvent<byte[]>> subscribeChannels(Collection<String> channels, Long lastEventId,
+                                                           SseFilter filter) {
+        Set<SseTopic> topics = EnumSet.noneOf(SseTopic.class);
+        channels.stream()
+                .filter(channel -> channel != null && !channel.isBlank())
+                .map(SseTopic::fromChannel)
+                .forEach(topics::add);
+        if (topics.isEmpty()) {
+            throw new IllegalArgumentException("구독할 채널이 없습니다");
+        }
+        if (topics.contains(SseTopic.STATS) && topics.contains(SseTopic.STATS_DELTA)) {
+            throw new IllegalArgumentException("stats 와 stats-delta 는 함께 구독할 수 없습니다");
         }
+        return sseHub.subscribe(topics, "SSE 연결 성공", lastEventId, filter);
+    }
 
-        return emitter;
+    /**
+     * 위협 구독 필터 생성
+     * - 위협 이벤트에는 자산 이름과 IP 가 실리므로, 자산 ID 로 구독 시점에 등록 자산의 이름과 IP 를 함께 조회한다.
+     * @return 조건이 없으면 null
+     * @throws IllegalArgumentException CIDR 형식이 올바르지 않을 때
+     */
+    public SseFilter createThreatFilter(List<String> severities, List<String> engines, List<String> assetIds,
+                                        List<String> cidrs, List<String> eventTypes) {
+        List<String> assetKeys = new ArrayList<>();
+        if (assetIds != null) {
+            for (String assetId : assetIds) {
+                if (assetId == null || assetId.isBlank()) {
+                    continue;
+                }
+                assetKeys.add(assetId);
+                assetRepository.findByAssetId(assetId.trim()).ifPresent(asset -> {
+                    assetKeys.add(asset.getName());
+                    assetKeys.add(asset.getIpAddress());
+                });
+            }
+        }
+        return SseFilter.of(normalizeSeverities(severities), engines, assetKeys, cidrs, eventTypes);
     }
 
     /**
-     * 통계 전용 SSE Emitter 생성
+     * 통계 전용 SSE 구독
+     * @param delta true 면 연결 시 stats-snapshot 1회, 이후 변경분만 stats-delta 로 수신
      */
-    public SseEmitter createStatsEmitter() {
-        SseEmitter emitter = new SseEmitter(sseTimeout);
-        statsEmitters.add(emitter);
+    public Flux<ServerSentEvent<byte[]>> subscribeStats(boolean delta) {
+        return sseHub.subscribe(EnumSet.of(delta ? SseTopic.STATS_DELTA : SseTopic.STATS), "통계 SSE 연결 성공", null);
+    }
 
-        emitter.onCompletion(() -> statsEmitters.remove(emitter));
-        emitter.onTimeout(() -> statsEmitters.remove(emitter));
-        emitter.onError(e -> statsEmitters.remove(emitter));
+    /**
+     * 모든 클라이언트에게 이벤트 전송
+     */
+    public void sendToAll(String eventName, Object data) {
+        sseHub.publish(SseTopic.GENERAL, eventName, data, EventAttributes.UNKNOWN, System.currentTimeMillis(),
+                clusterEventBus.nextEventId());
+    }
 
+    /**
+     * 수집된 위협을 저장 트랜잭션 커밋 후 전송
+     * - 롤백된 위협은 브로드캐스트 / 중계하지 않고, 전달 지연(sse.delivery.lag)은 커밋 시점부터 잰다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onThreatIngested(ThreatIngestedEvent event) {
         try {
-            emitter.send(SseEmitter.event()
-                .name("connect")
-                .data("통계 SSE 연결 성공"));
-        } catch (IOException e) {
-            log.error("초기 메시지 전송 실패", e);
+            sendThreat(event.getThreat());
+            log.info("새로운 위협을 실시간으로 전송했습니다: {}", event.getThreat().getThreatId());
+        } catch (Exception e) {
+            log.error("SSE 위협 전송 실패", e);
         }
+    }
 
-        return emitter;
+    /**
+     * 위협 이벤트 전송 (위협 구독자와 일반 구독자)
+     */
+    public void sendThreat(Threat threat) {
+        markThreatSent(threat.getThreatId());
+        publishClustered(SseTopic.THREATS, "threat", threat, attributes(threat.getThreatLevel(),
+                threat.getDetectionEngine(), threat.getSourceIp(), threat.getDestinationIp(),
+                threat.getSourceAsset(), threat.getDestinationAsset()));
     }
 
     /**
-     * 모든 클라이언트에게 이벤트 전송
+     * ES 에서 조회한 위협을 이 인스턴스의 구독자에게만 전송 (이미 수집 / 중계 경로로 보낸 위협은 생략)
+     * - 모든 인스턴스가 같은 위협을 조회하므로 중계하면 클라이언트가 인스턴스 수만큼 받는다.
      */
-    public void sendToAll(String eventName, Object data) {
-        sendToEmitters(emitters, eventName, data);
+    public void sendPolledThreat(ThreatEvent threat) {
+        if (!markThreatSent(threat.getThreatId())) {
+            return;
+        }
+        sseHub.publish(SseTopic.THREATS, "threat", threat, attributes(threat.getThreatLevel(),
+                threat.getDetectionEngine(), threat.getSrcIp(), threat.getDstIp(),
+                threat.getSourceAssetName(), threat.getTargetAssetName()),
+                System.currentTimeMillis(), clusterEventBus.nextEventId());
     }
 
     /**
-     * 위협 이벤트 전송
+     * @return 처음 보는 위협 ID 이거나 ID 가 없으면 true
      */
-    public void sendThreat(Object data) {
-        sendToEmitters(threatEmitters, "threat", data);
-        sendToEmitters(emitters, "threat", data);  // 일반 구독자에게도 전송
+    private synchronized boolean markThreatSent(String threatId) {
+        return threatId == null || threatId.isBlank() || sentThreatIds.add(threatId);
     }
 
     /**
-     * 통계 업데이트 전송
+     * 통계 업데이트 전송 (통계 구독자와 일반 구독자, 변경이 없는 tick 은 생략)
      */
     public void sendStats(Object data) {
-        sendToEmitters(statsEmitters, "stats", data);
-        sendToEmitters(emitters, "stats", data);  // 일반 구독자에게도 전송
+        sseHub.publishState(SseTopic.STATS, SseTopic.STATS_DELTA, "stats", data, STATS_VOLATILE_FIELDS);
     }
 
     /**
-     * XAI 분석 업데이트 전송
+     * XAI 분석 업데이트 전송 (위협 구독자와 일반 구독자)
      */
     public void sendAnalysis(Object data) {
-        sendToEmitters(threatEmitters, "analysis", data);
-        sendToEmitters(emitters, "analysis", data);
+        publishClustered(SseTopic.THREATS, "analysis", data, EventAttributes.UNKNOWN);
+    }
+
+    private void publishClustered(SseTopic topic, String eventName, Object data, EventAttributes attributes) {
+        long publishedAt = System.currentTimeMillis();
+        long id = clusterEventBus.nextEventId();
+        sseHub.publish(topic, eventName, data, attributes, publishedAt, id);
+        clusterEventBus.publish(new ClusterEvent(id, topic, eventName, data, attributes, publishedAt));
     }
 
     /**
-     * Emitter 목록에 이벤트 전송
+     * 다른 인스턴스에서 발생한 이벤트를 이 인스턴스의 구독자에게 전달
      */
-    private void sendToEmitters(CopyOnWriteArrayList<SseEmitter> emitterList, String eventName, Object data) {
-        emitterList.forEach(emitter -> {
-            try {
-                emitter.send(SseEmitter.event()
-                    .name(eventName)
-                    .data(data));
-            } catch (IOException e) {
-                log.error("SSE 전송 실패", e);
-                emitterList.remove(emitter);
-            }
-        });
+    private void relay(ClusterEvent event) {
+        if (event.topic() == SseTopic.THREATS && event.data() instanceof JsonNode data) {
+            markThreatSent(data.path("threatId").asText(null));
+        }
+        // id 가 없는 페이로드(이전 버전 인스턴스)는 이 인스턴스에서 발급
+        long id = event.id() > 0 ? event.id() : clusterEventBus.nextEventId();
+        sseHub.publish(event.topic(), event.event(), event.data(), event.attributes(), event.publishedAt(), id);
+    }
+
+    private static EventAttributes attributes(String severity, String engine, String sourceIp, String destinationIp,
+                                              String sourceAsset, String destinationAsset) {
+        return new EventAttributes(
+                severity == null ? null : severity.toLowerCase(Locale.ROOT),
+                engine == null ? null : engine.toLowerCase(Locale.ROOT),
+                nonBlank(sourceIp, destinationIp),
+                nonBlank(sourceAsset, destinationAsset));
+    }
+
+    private static List<String> nonBlank(String... values) {
+        return Stream.of(values)
+                .filter(value -> value != null && !value.isBlank())
+                .toList();
+    }
+
+    /**
+     * 화면 표기(긴급 / 경고)도 저장 값으로 변환
+     */
+    private static List<String> normalizeSeverities(Collection<String> severities) {
+        if (severities == null) {
+            return null;
+        }
+        return severities.stream()
+                .filter(Objects::nonNull)
+                .map(severity -> switch (severity.trim()) {
+                    case "긴급" -> "critical";
+                    case "경고" -> "warning";
+                    case "주의" -> "attention";
+                    default -> severity;
+                })
+                .toList();
     }
 
     /**
-     * 하트비트 전송
+     * 연결된 구독자 목록 (전송 큐가 밀린 순)
+     * - lagEvents: 마지막으로 받은 위협 / 일반 이벤트 이후 발행된 이벤트 수 (해당 토픽 구독자만)
      */
-    public void sendHeartbeat() {
-        Map<String, String> heartbeat = Map.of("type", "heartbeat", "timestamp", String.valueOf(System.currentTimeMillis()));
-        sendToAll("heartbeat", heartbeat);
+    public List<Map<String, Object>> getSubscriberSnapshots() {
+        long now = System.currentTimeMillis();
+        long lastEventId = sseHub.getLastEventId();
+        return sseHub.getSubscribers().stream()
+                .sorted(Comparator.comparingLong(SseSubscriber::getOldestQueuedMillis).reversed()
+                        .thenComparing(Comparator.comparingInt(SseSubscriber::getQueueDepth).reversed()))
+                .map(subscriber -> {
+                    Map<String, Object> snapshot = new LinkedHashMap<>();
+                    snapshot.put("id", subscriber.getId());
+                    snapshot.put("channels", subscriber.getTopics().stream().map(SseTopic::getChannel).toList());
+                    snapshot.put("filter", subscriber.isFiltered() ? subscriber.getFilter().toString() : null);
+                    snapshot.put("connectedAt", Instant.ofEpochMilli(subscriber.getConnectedAt()).toString());
+                    snapshot.put("connectedSeconds", (now - subscriber.getConnectedAt()) / 1000);
+                    snapshot.put("queueDepth", subscriber.getQueueDepth());
+                    snapshot.put("oldestQueuedMs", subscriber.getOldestQueuedMillis());
+                    snapshot.put("lagEvents", subscriber.getLastSentId() > 0
+                            ? lastEventId - subscriber.getLastSentId()
+                            : null);
+                    snapshot.put("sentEvents", subscriber.getSentEvents());
+                    snapshot.put("sentBytes", subscriber.getSentBytes());
+                    snapshot.put("lastSentAt", subscriber.getLastSentAt() > 0
+                            ? Instant.ofEpochMilli(subscriber.getLastSentAt()).toString()
+                            : null);
+                    snapshot.put("dropped", subscriber.getDropped());
+                    snapshot.put("overflows", subscriber.getOverflows());
+                    return snapshot;
+                })
+                .toList();
+    }
+
+    public long getLastEventId() {
+        return sseHub.getLastEventId();
     }
 
     /**
      * 활성 연결 수 조회
      */
     public int getActiveConnections() {
-        return emitters.size();
+        return sseHub.getSubscriberCount(SseTopic.GENERAL);
     }
 
     public int getActiveThreatConnections() {
-        return threatEmitters.size();
+        return sseHub.getSubscriberCount(SseTopic.THREATS);
     }
 
     public int getActiveStatsConnections() {
-        return statsEmitters.size();
+        return sseHub.getSubscriberCount(SseTopic.STATS) + sseHub.getSubscriberCount(SseTopic.STATS_DELTA);
     }
 }
@@ -5,12 +5,12 @@ import com.ot.security.dto.SummaryMetricsDTO;
 import com.ot.security.entity.SummaryMetrics;
 import com.ot.security.entity.Threat;
 import com.ot.security.entity.ThreatEvent;
-import com.ot.security.repository.AssetRepository;
 import com.ot.security.repository.SummaryMetricsRepository;
 import com.ot.security.repository.ThreatRepository;
 import com.ot.security.repository.XaiAnalysisRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,8 +23,18 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * 요약 지표 서비스
+ * - 조회용 지표는 DB 기준으로 계산해 불변 스냅샷으로 max-age 동안 캐시하고, 조회 요청에는 사본을 돌려준다.
+ * - 캐시가 만료된 뒤 동시에 들어온 조회는 한 번의 재계산 결과를 함께 기다린다 (single-flight).
+ * - summary_metrics 행은 통계 tick 의 메모리 카운터 값으로만, 바뀌었을 때만 저장한다.
+ * - 수동 업데이트는 세대 번호를 올리므로, 그 전에 시작한 계산은 캐시나 행을 덮어쓰지 않는다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -35,28 +45,99 @@ public class SummaryMetricsService {
     private static final List<String> NEW_STATUS_KEYS = List.of("신규", "new");
 
     private final ThreatRepository threatRepository;
-    private final AssetRepository assetRepository;
     private final SummaryMetricsRepository summaryMetricsRepository;
     private final ThreatMapper threatMapper;
     private final XaiAnalysisRepository xaiAnalysisRepository;
+    private final ThreatSummaryCounters threatSummaryCounters;
+    private final AssetIpIndex assetIpIndex;
 
+    @Value("${ot-security.summary.max-age:2000}")
+    private long maxAgeMillis;
+
+    private final AtomicReference<CompletableFuture<SummaryMetricsDTO>> inFlight = new AtomicReference<>();
+    private volatile CachedSnapshot cached;
+    // 마지막으로 DB 에 저장된 값 (tick 에서만 갱신, 수동 업데이트 시 초기화)
+    private volatile SummaryMetricsDTO lastStored;
+    // 수동 업데이트 세대 (this 로 동기화)
+    private long generation;
+
+    /**
+     * 매초 통계 tick 용: COUNT 쿼리 없이 메모리 카운터로 지표를 만들고, 바뀐 값만 summary_metrics 행에 저장
+     */
     @Transactional
     public SummaryMetricsDTO computeAndStoreMetrics() {
-        SummaryMetrics entity = ensureSummaryMetrics();
-        SummaryMetricsDTO snapshot = buildMetricsSnapshot();
-        applySnapshot(entity, snapshot);
-        entity.setUpdatedAt(Instant.now());
-        summaryMetricsRepository.save(entity);
-        return snapshot;
+        long startedGeneration = currentGeneration();
+        SummaryMetricsDTO snapshot = buildCounterSnapshot();
+        storeIfChanged(snapshot, startedGeneration);
+        return copyOf(snapshot);
     }
 
+    /**
+     * 조회용: max-age 이내의 캐시가 있으면 그대로, 없으면 DB 기준으로 다시 계산
+     */
     public SummaryMetricsDTO getSummaryMetrics() {
+        CachedSnapshot current = cached;
+        if (current != null && System.currentTimeMillis() - current.computedAt() < maxAgeMillis) {
+            return copyOf(current.snapshot());
+        }
+        return copyOf(recompute());
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    /**
+     * 진행 중인 재계산이 있으면 그 결과를 기다리고, 없으면 DB 기준으로 직접 계산해 캐시에 반영
+     */
+    private SummaryMetricsDTO recompute() {
+        CompletableFuture<SummaryMetricsDTO> flight = new CompletableFuture<>();
+        CompletableFuture<SummaryMetricsDTO> existing = inFlight.compareAndExchange(null, flight);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            long startedGeneration = currentGeneration();
+            SummaryMetricsDTO snapshot = buildMetricsSnapshot();
+            synchronized (this) {
+                if (generation == startedGeneration) {
+                    cached = new CachedSnapshot(snapshot, System.currentTimeMillis());
+                }
+            }
+            flight.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private void storeIfChanged(SummaryMetricsDTO snapshot, long startedGeneration) {
+        if (snapshot.equals(lastStored) || currentGeneration() != startedGeneration) {
+            return;
+        }
         SummaryMetrics entity = ensureSummaryMetrics();
-        SummaryMetricsDTO snapshot = buildMetricsSnapshot();
-        applySnapshot(entity, snapshot);
-        entity.setUpdatedAt(Instant.now());
-        summaryMetricsRepository.save(entity);
-        return snapshot;
+        if (!snapshot.equals(snapshotOf(entity))) {
+            applySnapshot(entity, snapshot);
+            entity.setUpdatedAt(Instant.now());
+            summaryMetricsRepository.save(entity);
+        }
+        synchronized (this) {
+            if (generation == startedGeneration) {
+                lastStored = snapshot;
+            }
+        }
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
     }
 
     public List<AlertSummaryDTO> getLatestAlerts(int limit) {
@@ -107,7 +188,7 @@ public class SummaryMetricsService {
 
         Set<String> recentIps = threatRepository.findDistinctSourceIpSince(daySince).stream()
                 .filter(ip -> ip != null && !ip.isBlank())
-                .filter(ip -> assetRepository.findByIpAddress(ip).isEmpty())
+                .filter(ip -> !assetIpIndex.contains(ip))
                 .collect(Collectors.toSet());
 
         int riskScore = calculateRiskScore(criticalAlerts, warningAlerts);
@@ -122,6 +203,20 @@ public class SummaryMetricsService {
                 .build();
     }
 
+    private SummaryMetricsDTO buildCounterSnapshot() {
+        long criticalAlerts = threatSummaryCounters.getCriticalAlarms();
+        long warningAlerts = threatSummaryCounters.getWarningAlarms();
+
+        return SummaryMetricsDTO.builder()
+                .safetyScore(calculateRiskScore(criticalAlerts, warningAlerts))
+                .anomalyDay(threatSummaryCounters.getAnomalyDay())
+                .anomalyWeek(threatSummaryCounters.getAnomalyWeek())
+                .newIpCount(threatSummaryCounters.getNewIpCount())
+                .unconfirmedAlarms(threatSummaryCounters.getUnconfirmedAlarms())
+                .criticalAlarms(criticalAlerts)
+                .build();
+    }
+
     @Transactional
     public SummaryMetricsDTO updateSummaryMetrics(SummaryMetricsDTO dto) {
         SummaryMetrics entity = ensureSummaryMetrics();
@@ -139,6 +234,12 @@ public class SummaryMetricsService {
 
         entity.setUpdatedAt(Instant.now());
         summaryMetricsRepository.save(entity);
+        // 다음 조회 / tick 에서 계산값으로 다시 비교해 저장하도록 캐시를 비우고, 진행 중인 계산 결과는 버린다
+        synchronized (this) {
+            generation++;
+            lastStored = null;
+            cached = null;
+        }
         return toDTO(entity);
     }
 
@@ -160,6 +261,29 @@ public class SummaryMetricsService {
         entity.setCriticalAlarms(snapshot.getCriticalAlarms());
     }
 
+    private SummaryMetricsDTO snapshotOf(SummaryMetrics entity) {
+        return SummaryMetricsDTO.builder()
+                .safetyScore(entity.getSafetyScore())
+                .anomalyDay(entity.getAnomalyDay())
+                .anomalyWeek(entity.getAnomalyWeek())
+                .newIpCount(entity.getNewIpCount())
+                .unconfirmedAlarms(entity.getUnconfirmedAlarms())
+                .criticalAlarms(entity.getCriticalAlarms())
+                .build();
+    }
+
+    private SummaryMetricsDTO copyOf(SummaryMetricsDTO snapshot) {
+        return SummaryMetricsDTO.builder()
+                .safetyScore(snapshot.getSafetyScore())
+                .anomalyDay(snapshot.getAnomalyDay())
+                .anomalyWeek(snapshot.getAnomalyWeek())
+                .newIpCount(snapshot.getNewIpCount())
+                .unconfirmedAlarms(snapshot.getUnconfirmedAlarms())
+                .criticalAlarms(snapshot.getCriticalAlarms())
+                .autoRefresh(snapshot.getAutoRefresh())
+                .build();
+    }
+
     private SummaryMetricsDTO toDTO(SummaryMetrics entity) {
         return SummaryMetricsDTO.builder()
                 .safetyScore(entity.getSafetyScore())
@@ -215,4 +339,7 @@ public class SummaryMetricsService {
         }
         return detectionEngine.toUpperCase();
     }
+
+    private record CachedSnapshot(SummaryMetricsDTO snapshot, long computedAt) {
+    }
 }
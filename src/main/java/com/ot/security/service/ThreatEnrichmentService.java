@@ -1,14 +1,13 @@
 package com.ot.security.service;
 
-import com.ot.security.entity.Asset;
 import com.ot.security.entity.ThreatEvent;
-import com.ot.security.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 /**
  * 위협 이벤트에 자산 매핑과 표현 규칙을 적용한다.
@@ -20,7 +19,7 @@ public class ThreatEnrichmentService {
 
     private static final List<String> SUPPORTED_ENGINES = List.of("ML", "DL", "RULE");
 
-    private final AssetRepository assetRepository;
+    private final AssetIpIndex assetIpIndex;
 
     public ThreatEvent enrich(ThreatEvent threat) {
         if (threat == null) {
@@ -75,17 +74,14 @@ public class ThreatEnrichmentService {
 
     private void attachAssetMetadata(ThreatEvent threat) {
         findAssetByIp(threat.getSrcIp()).ifPresent(asset -> {
-            threat.setSourceAssetName(asset.getName());
-            threat.setSourceAssetNote(asset.getAssetType());
+            threat.setSourceAssetName(asset.name());
+            threat.setSourceAssetNote(asset.assetType());
         });
         findAssetByIp(threat.getDstIp()).ifPresent(asset ->
-                threat.setTargetAssetName(asset.getName()));
+                threat.setTargetAssetName(asset.name()));
     }
 
-    private java.util.Optional<Asset> findAssetByIp(String ip) {
-        if (ip == null || ip.isBlank()) {
-            return java.util.Optional.empty();
-        }
-        return assetRepository.findByIpAddress(ip.trim());
+    private Optional<AssetIpIndex.AssetInfo> findAssetByIp(String ip) {
+        return assetIpIndex.find(ip);
     }
 }
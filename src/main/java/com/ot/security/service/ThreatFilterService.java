@@ -1,12 +1,16 @@
 package com.ot.security.service;
 
 import com.ot.security.dto.AdminActionDTO;
+import com.ot.security.dto.CountSeriesDTO;
 import com.ot.security.dto.PagedResponseDTO;
 import com.ot.security.dto.ThreatFilterDTO;
+import com.ot.security.dto.ThreatStatisticsDTO;
+import com.ot.security.dto.TimeKeyFormat;
 import com.ot.security.entity.AdminAction;
 import com.ot.security.entity.Threat;
 import com.ot.security.entity.ThreatEvent;
 import com.ot.security.entity.XaiAnalysis;
+import com.ot.security.event.ThreatStatusChangedEvent;
 import com.ot.security.repository.AdminActionRepository;
 import com.ot.security.repository.ThreatRepository;
 import com.ot.security.repository.XaiAnalysisRepository;
@@ -15,6 +19,7 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +48,7 @@ public class ThreatFilterService {
     private final AdminActionRepository adminActionRepository;
     private final XaiAnalysisRepository xaiAnalysisRepository;
     private final ThreatMapper threatMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -174,8 +180,10 @@ public class ThreatFilterService {
         // Threat 엔티티의 status도 업데이트
         if (newStatus != null && "completed".equalsIgnoreCase(newStatus)) {
             threatRepository.findById(threatId).ifPresent(threat -> {
+                String previousStatus = threat.getStatus();
                 threat.setStatus("조치완료");
-                threatRepository.save(threat);
+                Threat saved = threatRepository.save(threat);
+                eventPublisher.publishEvent(new ThreatStatusChangedEvent(saved, previousStatus));
                 log.info("위협 상태 업데이트: {} -> 조치완료", threatId);
             });
         }
@@ -226,30 +234,23 @@ public class ThreatFilterService {
                 .setParameter("since", Timestamp.from(since))
                 .getResultList();
 
-        List<Map<String, Object>> data = new ArrayList<>();
-        long total = 0;
+        CountSeriesDTO data = new CountSeriesDTO("timestamp", TimeKeyFormat.ISO_INSTANT, rows.size());
         for (Object[] row : rows) {
             Timestamp ts = (Timestamp) row[0];
-            long count = ((Number) row[1]).longValue();
-            total += count;
-
-            Map<String, Object> point = new HashMap<>();
-            point.put("timestamp", ts.toInstant().toString());
-            point.put("count", count);
-            data.add(point);
+            data.add(ts.getTime(), ((Number) row[1]).longValue());
         }
 
         Map<String, Object> result = new HashMap<>();
         result.put("range", range);
         result.put("data", data);
-        result.put("total", total);
+        result.put("total", data.getTotal());
         return result;
     }
 
     /**
      * 위협 통계
      */
-    public Map<String, Object> getThreatStatistics() {
+    public ThreatStatisticsDTO getThreatStatistics() {
         String typeSql = """
                 SELECT COALESCE(NULLIF(threat_type, ''), '미지정') AS type, COUNT(*) AS cnt
                 FROM threats
@@ -263,7 +264,7 @@ public class ThreatFilterService {
                 .getResultList();
 
         long totalThreats = threatRepository.count();
-        List<Map<String, Object>> topTypes = new ArrayList<>();
+        List<ThreatStatisticsDTO.ThreatTypeCount> topTypes = new ArrayList<>();
         for (Object[] row : typeRows) {
             String type = Objects.toString(row[0], "미지정");
             long count = ((Number) row[1]).longValue();
@@ -271,11 +272,7 @@ public class ThreatFilterService {
                     ? Math.round((count * 1000.0) / totalThreats) / 10.0
                     : 0.0;
 
-            Map<String, Object> item = new HashMap<>();
-            item.put("type", type);
-            item.put("count", count);
-            item.put("percentage", percentage);
-            topTypes.add(item);
+            topTypes.add(new ThreatStatisticsDTO.ThreatTypeCount(type, count, percentage));
         }
 
         String severitySql = "SELECT threat_level, COUNT(*) AS cnt FROM threats GROUP BY threat_level";
@@ -290,10 +287,10 @@ public class ThreatFilterService {
             bySeverity.put(mapSeverityToFrontend(level), count);
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("topThreatTypes", topTypes);
-        result.put("bySeverity", bySeverity);
-        return result;
+        return ThreatStatisticsDTO.builder()
+                .topThreatTypes(topTypes)
+                .bySeverity(bySeverity)
+                .build();
     }
 
     // ===== 내부 유틸 =====
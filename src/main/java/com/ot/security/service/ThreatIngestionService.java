@@ -2,9 +2,11 @@ package com.ot.security.service;
 
 import com.ot.security.dto.RiskAlarmDTO;
 import com.ot.security.entity.Threat;
+import com.ot.security.event.ThreatIngestedEvent;
 import com.ot.security.repository.ThreatRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +23,7 @@ public class ThreatIngestionService {
     private static final int DEFAULT_INDEX_START = 1000;
 
     private final ThreatRepository threatRepository;
-    private final SSEService sseService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Threat ingestRiskAlarm(String engine, RiskAlarmDTO dto) {
@@ -50,14 +52,8 @@ public class ThreatIngestionService {
                 .build();
 
         Threat saved = threatRepository.save(threat);
-
-        // 새로운 위협 발생 시 즉시 SSE 전송
-        try {
-            sseService.sendThreat(saved);
-            log.info("새로운 위협을 실시간으로 전송했습니다: {}", saved.getThreatId());
-        } catch (Exception e) {
-            log.error("SSE 위협 전송 실패", e);
-        }
+        // SSE 전송은 커밋 후 SSEService.onThreatIngested 에서
+        eventPublisher.publishEvent(new ThreatIngestedEvent(saved));
 
         return saved;
     }
@@ -0,0 +1,188 @@
+package com.ot.security.service;
+
+import com.ot.security.entity.Threat;
+import com.ot.security.event.ThreatIngestedEvent;
+import com.ot.security.event.ThreatStatusChangedEvent;
+import com.ot.security.repository.ThreatRepository;
+import com.ot.security.sketch.SlidingWindowCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 요약 지표용 위협 카운터 (메모리)
+ * - 위협 저장 / 상태 변경 이벤트로 분 단위 링(1일 / 7일 건수), 미확인 알람 수, 24시간 출발지 IP 를 갱신한다.
+ * - 매초 통계 tick 은 DB 조회 없이 이 값만 읽는다.
+ * - 보존 기간 삭제나 이벤트 없이 바뀐 데이터는 reconcile-interval 마다 DB COUNT 와 비교해 바로잡는다
+ *   (링과 같은 분 경계부터 센 1일 / 7일 건수가 다를 때만 링을 다시 채운다).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThreatSummaryCounters {
+
+    static final Set<String> NEW_STATUS_KEYS = Set.of("신규", "new");
+    static final String CRITICAL_LEVEL = "warning";
+    static final String WARNING_LEVEL = "attention";
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final int DAY_MINUTES = 60 * 24;
+    private static final int WEEK_MINUTES = DAY_MINUTES * 7;
+    private static final int DAY = 0;
+    private static final int WEEK = 1;
+
+    private final ThreatRepository threatRepository;
+    private final AssetIpIndex assetIpIndex;
+
+    private final SlidingWindowCounter anomalies = new SlidingWindowCounter(MINUTE_MILLIS, DAY_MINUTES, WEEK_MINUTES);
+    // 아래 필드는 this 로 동기화
+    private final Map<String, Long> sourceIpLastSeen = new HashMap<>();
+    private long unconfirmed;
+    private long criticalAlarms;
+    private long warningAlarms;
+
+    /**
+     * 위협 저장 트랜잭션 커밋 후 반영
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThreatIngested(ThreatIngestedEvent event) {
+        Threat threat = event.getThreat();
+        long now = System.currentTimeMillis();
+        long at = threat.getEventTimestamp() != null ? threat.getEventTimestamp().toEpochMilli() : now;
+        anomalies.add(at, 1, now);
+
+        synchronized (this) {
+            recordSourceIp(threat.getSourceIp(), at);
+            adjustAlarms(threat.getThreatLevel(), threat.getStatus(), 1);
+        }
+    }
+
+    /**
+     * 위협 상태 변경 커밋 후 미확인 / 긴급 / 경고 알람 수 반영
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onThreatStatusChanged(ThreatStatusChangedEvent event) {
+        Threat threat = event.getThreat();
+        adjustAlarms(threat.getThreatLevel(), event.getPreviousStatus(), -1);
+        adjustAlarms(threat.getThreatLevel(), threat.getStatus(), 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+    }
+
+    /**
+     * DB 기준으로 카운터 보정
+     */
+    @Scheduled(fixedDelayString = "${ot-security.summary.reconcile-interval:60000}",
+            initialDelayString = "${ot-security.summary.reconcile-interval:60000}")
+    public void reconcile() {
+        try {
+            List<String> statuses = List.copyOf(NEW_STATUS_KEYS);
+            long dbUnconfirmed = threatRepository.countByStatusInIgnoreCase(statuses);
+            long dbCritical = threatRepository.countByThreatLevelAndStatusInIgnoreCase(CRITICAL_LEVEL, statuses);
+            long dbWarning = threatRepository.countByThreatLevelAndStatusInIgnoreCase(WARNING_LEVEL, statuses);
+
+            long now = System.currentTimeMillis();
+            Instant daySince = windowStart(now, DAY_MINUTES);
+            Instant weekSince = windowStart(now, WEEK_MINUTES);
+            long dbDay = threatRepository.countByEventTimestampGreaterThanEqual(daySince);
+            long dbWeek = threatRepository.countByEventTimestampGreaterThanEqual(weekSince);
+            boolean drifted = dbDay != anomalies.total(DAY, now) || dbWeek != anomalies.total(WEEK, now);
+            if (drifted) {
+                rebuildWindows(daySince, weekSince);
+            }
+
+            synchronized (this) {
+                unconfirmed = dbUnconfirmed;
+                criticalAlarms = dbCritical;
+                warningAlarms = dbWarning;
+            }
+            log.debug("요약 카운터 보정: 1일 {} / 7일 {} (링 재구성: {}), 미확인 {}", dbDay, dbWeek, drifted, dbUnconfirmed);
+        } catch (Exception e) {
+            log.warn("요약 카운터 보정 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 링 윈도에 들어가는 가장 오래된 분 버킷의 시작 시각 (현재 분 포함 minutes 개)
+     */
+    private static Instant windowStart(long now, int minutes) {
+        return Instant.ofEpochMilli((now / MINUTE_MILLIS - minutes + 1) * MINUTE_MILLIS);
+    }
+
+    private void rebuildWindows(Instant daySince, Instant weekSince) {
+        List<Instant> timestamps = threatRepository.findEventTimestampSince(weekSince);
+        List<Object[]> sources = threatRepository.findSourceIpAndTimestampSince(daySince);
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            anomalies.clear();
+            timestamps.forEach(timestamp -> anomalies.add(timestamp.toEpochMilli(), 1, now));
+            sourceIpLastSeen.clear();
+            sources.forEach(row -> recordSourceIp((String) row[0], ((Instant) row[1]).toEpochMilli()));
+        }
+    }
+
+    public long getAnomalyDay() {
+        return anomalies.total(DAY, System.currentTimeMillis());
+    }
+
+    public long getAnomalyWeek() {
+        return anomalies.total(WEEK, System.currentTimeMillis());
+    }
+
+    public synchronized long getUnconfirmedAlarms() {
+        return unconfirmed;
+    }
+
+    public synchronized long getCriticalAlarms() {
+        return criticalAlarms;
+    }
+
+    public synchronized long getWarningAlarms() {
+        return warningAlarms;
+    }
+
+    /**
+     * 최근 24시간 위협 출발지 중 등록 자산이 아닌 IP 수
+     */
+    public synchronized long getNewIpCount() {
+        long since = System.currentTimeMillis() - DAY_MINUTES * MINUTE_MILLIS;
+        sourceIpLastSeen.values().removeIf(lastSeen -> lastSeen < since);
+        return sourceIpLastSeen.keySet().stream()
+                .filter(ip -> !assetIpIndex.contains(ip))
+                .count();
+    }
+
+    private void recordSourceIp(String sourceIp, long at) {
+        if (sourceIp == null || sourceIp.isBlank()) {
+            return;
+        }
+        sourceIpLastSeen.merge(sourceIp, at, Math::max);
+    }
+
+    private void adjustAlarms(String threatLevel, String status, int delta) {
+        if (status == null || !NEW_STATUS_KEYS.contains(status.toLowerCase(Locale.ROOT))) {
+            return;
+        }
+        unconfirmed += delta;
+        if (CRITICAL_LEVEL.equalsIgnoreCase(threatLevel)) {
+            criticalAlarms += delta;
+        } else if (WARNING_LEVEL.equalsIgnoreCase(threatLevel)) {
+            warningAlarms += delta;
+        }
+    }
+}
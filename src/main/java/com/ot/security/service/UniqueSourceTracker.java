@@ -0,0 +1,105 @@
+package com.ot.security.service;
+
+import com.ot.security.event.ThreatIngestedEvent;
+import com.ot.security.repository.ThreatRepository;
+import com.ot.security.sketch.HyperLogLog;
+import com.ot.security.sketch.WindowedSketch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 위협 출발지 IP 고유 개수 추적 (HyperLogLog)
+ * - 구간별 HLL 을 병합해 5m/1h/24h/7d 고유 개수와 95% 오차 범위를 계산한다 (구간 관리는 WindowedSketch).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniqueSourceTracker {
+
+    private static final double Z_95 = 1.96;
+
+    public static final List<Duration> WINDOWS = List.of(
+            Duration.ofMinutes(5),
+            Duration.ofHours(1),
+            Duration.ofHours(24),
+            Duration.ofDays(7)
+    );
+
+    private final ThreatRepository threatRepository;
+
+    private final WindowedSketch<HyperLogLog> sketches = new WindowedSketch<>(HyperLogLog::new);
+
+    /**
+     * 위협 저장 트랜잭션 커밋 후 출발지 IP 반영
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onThreatIngested(ThreatIngestedEvent event) {
+        record(event.getThreat().getSourceIp(), event.getThreat().getEventTimestamp());
+    }
+
+    /**
+     * 기동 시 최근 7일 위협으로 sketch 초기화
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            Instant since = Instant.now().minus(Duration.ofMillis(sketches.getSpanMillis()));
+            List<Object[]> rows = threatRepository.findSourceIpAndTimestampSince(since);
+            rows.forEach(row -> record((String) row[0], (Instant) row[1]));
+            log.info("고유 출발지 IP sketch 초기화 완료: {} 건", rows.size());
+        } catch (Exception e) {
+            log.warn("고유 출발지 IP sketch 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void record(String sourceIp, Instant observedAt) {
+        if (sourceIp == null || sourceIp.isBlank()) {
+            return;
+        }
+        String ip = sourceIp.trim();
+        long now = System.currentTimeMillis();
+        long at = observedAt != null ? observedAt.toEpochMilli() : now;
+        sketches.record(at, now, sketch -> sketch.add(ip));
+    }
+
+    /**
+     * 최근 window 동안의 고유 출발지 IP 추정치
+     */
+    public synchronized Map<String, Object> estimate(Duration window) {
+        HyperLogLog merged = new HyperLogLog();
+        sketches.forEachIn(window, System.currentTimeMillis(), merged::merge);
+
+        long count = merged.estimate();
+        double relativeError = merged.relativeStandardError();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("window", WindowedSketch.formatWindow(window));
+        result.put("count", count);
+        result.put("relativeStandardError", Math.round(relativeError * 10000.0) / 10000.0);
+        result.put("errorBound", Math.round(count * relativeError * Z_95));   // 95% 신뢰구간 (±)
+        result.put("source", "hll");
+        return result;
+    }
+
+    /**
+     * 5m / 1h / 24h / 7d 고유 출발지 IP 추정치
+     */
+    public List<Map<String, Object>> estimateAll() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Duration window : WINDOWS) {
+            result.add(estimate(window));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ot.security.sketch;
+
+import java.util.Arrays;
+
+/**
+ * 시간 버킷 링 기반 슬라이딩 윈도 카운터
+ * - 버킷 수가 가장 긴 윈도 길이만큼인 링에 건수를 쌓고, 윈도별 합계를 따로 유지한다.
+ *   시간이 지나 버킷이 윈도 밖으로 나갈 때 그 버킷 값을 합계에서 빼므로, 합계 조회는 버킷을 다시 더하지 않는다.
+ * - 윈도 경계는 버킷 단위로 정렬된다 (최대 버킷 하나만큼 오차).
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int[] windows;
+    private final long[] buckets;
+    private final long[] totals;
+    private long head = Long.MIN_VALUE;
+
+    /**
+     * @param windows 윈도 길이 (버킷 수)
+     */
+    public SlidingWindowCounter(long bucketMillis, int... windows) {
+        int capacity = 1;
+        for (int window : windows) {
+            capacity = Math.max(capacity, window);
+        }
+        this.bucketMillis = bucketMillis;
+        this.windows = windows.clone();
+        this.buckets = new long[capacity];
+        this.totals = new long[windows.length];
+    }
+
+    /**
+     * 관측 시각의 버킷에 count 추가 (가장 긴 윈도보다 오래된 시각은 무시, 미래 시각은 현재로 보정)
+     */
+    public synchronized void add(long epochMillis, long count, long nowMillis) {
+        advance(nowMillis);
+        long bucket = Math.min(epochMillis, nowMillis) / bucketMillis;
+        if (bucket <= head - buckets.length) {
+            return;
+        }
+        buckets[index(bucket)] += count;
+        for (int i = 0; i < windows.length; i++) {
+            if (bucket > head - windows[i]) {
+                totals[i] += count;
+            }
+        }
+    }
+
+    /**
+     * 생성 시 지정한 순서의 윈도 합계
+     */
+    public synchronized long total(int windowIndex, long nowMillis) {
+        advance(nowMillis);
+        return totals[windowIndex];
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buckets, 0);
+        Arrays.fill(totals, 0);
+    }
+
+    private void advance(long nowMillis) {
+        long target = nowMillis / bucketMillis;
+        if (head == Long.MIN_VALUE || target - head >= buckets.length) {
+            if (head != Long.MIN_VALUE) {
+                clear();
+            }
+            head = Math.max(head, target);
+            return;
+        }
+        while (head < target) {
+            head++;
+            for (int i = 0; i < windows.length; i++) {
+                totals[i] -= buckets[index(head - windows[i])];
+            }
+            buckets[index(head)] = 0;
+        }
+    }
+
+    private int index(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
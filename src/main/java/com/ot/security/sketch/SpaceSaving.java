@@ -0,0 +1,150 @@
+package com.ot.security.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving 빈도 상위 항목(heavy hitter) sketch
+ * - 최대 capacity 개의 카운터만 유지하고, 가득 찬 상태에서 새 항목이 들어오면
+ *   가장 작은 카운터를 넘겨받는다 (넘겨받은 값은 error 로 기록).
+ * - count 는 실제 빈도의 상한, count - error 는 하한이며, 오차는 전체 건수 / capacity 이하이다.
+ * - 같은 capacity 의 sketch 끼리 병합할 수 있어 시간 구간별 sketch 를 합쳐 긴 구간을 계산한다.
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+ */
+public class SpaceSaving {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * 상위 항목
+     * @param key 항목
+     * @param count 빈도 추정치 (상한)
+     * @param error 최대 과대 추정량 (실제 빈도 >= count - error)
+     */
+    public record Entry(String key, long count, long error) {
+        public long lowerBound() {
+            return count - error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, long[]> counters;
+    private long total;
+
+    public SpaceSaving() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity 는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String key) {
+        add(key, 1);
+    }
+
+    public void add(String key, long weight) {
+        if (key == null || weight <= 0) {
+            return;
+        }
+        total += weight;
+
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight, 0});
+            return;
+        }
+
+        // 가장 작은 카운터를 새 항목이 넘겨받는다
+        String minKey = null;
+        long[] min = null;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min[0]) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new long[]{min[0] + weight, min[0]});
+    }
+
+    /**
+     * 다른 sketch 의 관측값을 합친다
+     * - 한쪽에만 있는 항목은, 상대 sketch 가 가득 차 있었다면 상대의 최소 카운터만큼 상한/오차를 더한다.
+     */
+    public void merge(SpaceSaving other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("capacity 가 다른 sketch 는 병합할 수 없습니다.");
+        }
+        long thisMin = minCount();
+        long otherMin = other.minCount();
+
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+
+        List<Map.Entry<String, long[]>> merged = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long[] mine = counters.get(key);
+            long[] theirs = other.counters.get(key);
+            long count = (mine != null ? mine[0] : thisMin) + (theirs != null ? theirs[0] : otherMin);
+            long error = (mine != null ? mine[1] : thisMin) + (theirs != null ? theirs[1] : otherMin);
+            merged.add(Map.entry(key, new long[]{count, error}));
+        }
+
+        merged.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed());
+        counters.clear();
+        for (int i = 0; i < Math.min(capacity, merged.size()); i++) {
+            counters.put(merged.get(i).getKey(), merged.get(i).getValue());
+        }
+        total += other.total;
+    }
+
+    /**
+     * 빈도 상위 k 개 (빈도 내림차순)
+     */
+    public List<Entry> top(int k) {
+        return counters.entrySet().stream()
+                .map(e -> new Entry(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .sorted(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::key))
+                .limit(Math.max(k, 0))
+                .toList();
+    }
+
+    /**
+     * 관측한 전체 건수
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * 추적하지 않는 항목의 최대 빈도 (sketch 가 가득 차지 않았다면 0)
+     */
+    public long minCount() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (long[] counter : counters.values()) {
+            min = Math.min(min, counter[0]);
+        }
+        return min;
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ot.security.sketch;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 고정 길이 시간 버킷 링 버퍼
+ * - bucketMillis 단위로 정렬된 버킷을 capacity 개 유지하고, 오래된 버킷 자리는 재사용한다.
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+ */
+public class TimeBucketRing<T> {
+
+    private final long bucketMillis;
+    private final Object[] buckets;
+    private final long[] bucketStarts;
+    private final Supplier<T> factory;
+
+    public TimeBucketRing(long bucketMillis, int capacity, Supplier<T> factory) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new Object[capacity];
+        this.bucketStarts = new long[capacity];
+        this.factory = factory;
+        Arrays.fill(bucketStarts, Long.MIN_VALUE);
+    }
+
+    /**
+     * 시각이 속한 버킷 (링 범위보다 오래된 시각이면 null)
+     * @param epochMillis 관측 시각
+     * @param nowMillis 현재 시각 (미래 시각은 현재 버킷으로 보정)
+     */
+    @SuppressWarnings("unchecked")
+    public T bucketFor(long epochMillis, long nowMillis) {
+        long start = alignedStart(Math.min(epochMillis, nowMillis));
+        if (start <= alignedStart(nowMillis) - bucketMillis * buckets.length) {
+            return null;
+        }
+
+        int slot = slotOf(start);
+        if (bucketStarts[slot] != start || buckets[slot] == null) {
+            buckets[slot] = factory.get();
+            bucketStarts[slot] = start;
+        }
+        return (T) buckets[slot];
+    }
+
+    /**
+     * fromMillis 가 속한 버킷부터 현재 버킷까지 순회
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachSince(long fromMillis, long nowMillis, Consumer<T> consumer) {
+        long current = alignedStart(nowMillis);
+        long oldest = current - bucketMillis * (buckets.length - 1);
+        for (long start = Math.max(alignedStart(fromMillis), oldest); start <= current; start += bucketMillis) {
+            int slot = slotOf(start);
+            if (bucketStarts[slot] == start && buckets[slot] != null) {
+                consumer.accept((T) buckets[slot]);
+            }
+        }
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public long getSpanMillis() {
+        return bucketMillis * buckets.length;
+    }
+
+    private long alignedStart(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+
+    private int slotOf(long alignedStart) {
+        return (int) Math.floorMod(alignedStart / bucketMillis, (long) buckets.length);
+    }
+}
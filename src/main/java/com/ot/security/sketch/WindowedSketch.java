@@ -0,0 +1,68 @@
+package com.ot.security.sketch;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 최근 7일 구간 sketch 묶음
+ * - 분 단위 sketch 60개와 시간 단위 sketch 169개(7일 + 현재 시간)를 유지하고,
+ *   구간에 해당하는 sketch 를 병합하여 최근 구간 값을 쿼리 없이 계산한다.
+ * - 1시간을 넘는 구간은 시간 버킷 단위로 정렬되므로 최대 1시간 더 넓게 계산될 수 있다.
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+ */
+public class WindowedSketch<T> {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final TimeBucketRing<T> minutes;
+    private final TimeBucketRing<T> hours;
+
+    public WindowedSketch(Supplier<T> factory) {
+        this.minutes = new TimeBucketRing<>(MINUTE_MILLIS, 60, factory);
+        this.hours = new TimeBucketRing<>(HOUR_MILLIS, 24 * 7 + 1, factory);
+    }
+
+    /**
+     * 관측 시각이 속한 분 / 시간 sketch 에 반영 (보관 범위보다 오래된 시각은 무시)
+     */
+    public void record(long epochMillis, long nowMillis, Consumer<T> update) {
+        T minute = minutes.bucketFor(epochMillis, nowMillis);
+        if (minute != null) {
+            update.accept(minute);
+        }
+        T hour = hours.bucketFor(epochMillis, nowMillis);
+        if (hour != null) {
+            update.accept(hour);
+        }
+    }
+
+    /**
+     * 최근 window 에 해당하는 sketch 순회 (1시간 이내는 분 단위, 그 이상은 시간 단위)
+     */
+    public void forEachIn(Duration window, long nowMillis, Consumer<T> consumer) {
+        TimeBucketRing<T> ring = window.toMillis() <= minutes.getSpanMillis() ? minutes : hours;
+        ring.forEachSince(nowMillis - window.toMillis(), nowMillis, consumer);
+    }
+
+    /**
+     * 시간 단위 sketch 가 덮는 전체 기간
+     */
+    public long getSpanMillis() {
+        return hours.getSpanMillis();
+    }
+
+    /**
+     * "5m", "1h", "24h", "7d" 형식의 구간 표기
+     */
+    public static String formatWindow(Duration window) {
+        if (window.toDays() > 0 && window.toHours() % 24 == 0) {
+            return window.toDays() + "d";
+        }
+        if (window.toHours() > 0 && window.toMinutes() % 60 == 0) {
+            return window.toHours() + "h";
+        }
+        return window.toMinutes() + "m";
+    }
+}
@@ -0,0 +1,22 @@
+package com.ot.security.sse;
+
+/**
+ * 구독자 전송 큐가 밀렸을 때의 처리 방식
+ */
+public enum DeliveryPolicy {
+
+    /**
+     * 최신 값만 의미가 있는 이벤트 (통계 tick): 아직 전송되지 않은 이전 값을 새 값으로 대체한다.
+     */
+    LATEST,
+
+    /**
+     * 버리지 않는 이벤트 (위협, 분석): 큐가 가득 차도 적재하고 overflow 로 기록한다.
+     */
+    RELIABLE,
+
+    /**
+     * 버려도 되는 이벤트 (하트비트): 큐가 가득 차 있으면 버린다.
+     */
+    BEST_EFFORT
+}
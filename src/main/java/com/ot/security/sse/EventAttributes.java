@@ -0,0 +1,22 @@
+package com.ot.security.sse;
+
+import java.util.List;
+
+/**
+ * 구독 필터 / 라우팅에 쓰는 이벤트 속성 (없는 속성은 null 또는 빈 목록)
+ * @param severity 위협 등급 (소문자)
+ * @param engine 탐지 엔진 (소문자)
+ * @param ips 출발지 / 목적지 IP
+ * @param assets 출발지 / 목적지 자산 식별자
+ */
+public record EventAttributes(String severity, String engine, List<String> ips, List<String> assets) {
+
+    /**
+     * 속성을 알 수 없는 이벤트 (이벤트 종류 조건만 적용된다)
+     */
+    public static final EventAttributes UNKNOWN = new EventAttributes(null, null, List.of(), List.of());
+
+    public boolean hasEndpoints() {
+        return !ips.isEmpty() || !assets.isEmpty();
+    }
+}
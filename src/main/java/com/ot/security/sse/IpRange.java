@@ -0,0 +1,124 @@
+package com.ot.security.sse;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * CIDR 대역 (IPv4 / IPv6, 접두 길이가 없으면 단일 주소)
+ */
+public final class IpRange {
+
+    private final byte[] network;
+    private final int prefixLength;
+
+    private IpRange(byte[] network, int prefixLength) {
+        this.network = network;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException 주소나 접두 길이가 올바르지 않을 때
+     */
+    public static IpRange parse(String cidr) {
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        byte[] address = toBytes(slash < 0 ? value : value.substring(0, slash));
+        if (address == null) {
+            throw new IllegalArgumentException("잘못된 CIDR: " + cidr);
+        }
+
+        int prefixLength = address.length * 8;
+        if (slash >= 0) {
+            try {
+                prefixLength = Integer.parseInt(value.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 CIDR: " + cidr);
+            }
+            if (prefixLength < 0 || prefixLength > address.length * 8) {
+                throw new IllegalArgumentException("잘못된 CIDR: " + cidr);
+            }
+        }
+        return new IpRange(address, prefixLength);
+    }
+
+    public boolean contains(String ip) {
+        byte[] address = toBytes(ip);
+        if (address == null || address.length != network.length) {
+            return false;
+        }
+        int fullBytes = prefixLength / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (address[i] != network[i]) {
+                return false;
+            }
+        }
+        int remainingBits = prefixLength % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = 0xFF << (8 - remainingBits);
+        return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+
+    /**
+     * IP 리터럴만 변환 (호스트 이름 조회는 하지 않는다)
+     * - IPv4 는 점 표기 네 자리만 직접 해석하고, IPv6 는 ':' 가 있어 InetAddress 가 리터럴로만 해석하는 경우에만 넘긴다.
+     */
+    private static byte[] toBytes(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        String value = ip.trim();
+        return value.indexOf(':') < 0 ? parseIpv4(value) : parseIpv6(value);
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        String[] octets = ip.split("\\.", -1);
+        if (octets.length != 4) {
+            return null;
+        }
+        byte[] address = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            String octet = octets[i];
+            if (octet.isEmpty() || octet.length() > 3) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < octet.length(); j++) {
+                char c = octet.charAt(j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (value > 255) {
+                return null;
+            }
+            address[i] = (byte) value;
+        }
+        return address;
+    }
+
+    private static byte[] parseIpv6(String ip) {
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != '.' && c != ':') {
+                return null;
+            }
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return InetAddress.getByAddress(network).getHostAddress() + "/" + prefixLength;
+        } catch (UnknownHostException e) {
+            return "?/" + prefixLength;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ot.security.sse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON Merge Patch (RFC 7386) 형식의 변경분 계산
+ * - 객체는 필드 단위로 재귀 비교하고, 배열과 값은 통째로 교체한다.
+ * - 이전 값에만 있는 필드는 null 로 표시한다 (클라이언트에서 삭제).
+ */
+public final class JsonMergePatch {
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * previous 에 적용하면 current 가 되는 patch
+     * @param ignoredFields 최상위 필드 중 변경 여부 판단에서 제외할 필드 (다른 변경이 있을 때만 patch 에 포함)
+     * @return 변경이 없으면 null
+     */
+    public static ObjectNode diff(ObjectNode previous, ObjectNode current, Set<String> ignoredFields) {
+        ObjectNode patch = diffObjects(previous, current);
+        boolean changed = false;
+        Iterator<String> names = patch.fieldNames();
+        while (names.hasNext()) {
+            if (!ignoredFields.contains(names.next())) {
+                changed = true;
+                break;
+            }
+        }
+        return changed ? patch : null;
+    }
+
+    private static ObjectNode diffObjects(ObjectNode previous, ObjectNode current) {
+        ObjectNode patch = JsonNodeFactory.instance.objectNode();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode before = previous.get(field.getKey());
+            JsonNode after = field.getValue();
+
+            if (before == null) {
+                patch.set(field.getKey(), after);
+            } else if (before.isObject() && after.isObject()) {
+                ObjectNode nested = diffObjects((ObjectNode) before, (ObjectNode) after);
+                if (!nested.isEmpty()) {
+                    patch.set(field.getKey(), nested);
+                }
+            } else if (!before.equals(after)) {
+                patch.set(field.getKey(), after);
+            }
+        }
+
+        Iterator<String> previousNames = previous.fieldNames();
+        while (previousNames.hasNext()) {
+            String name = previousNames.next();
+            if (!current.has(name)) {
+                patch.putNull(name);
+            }
+        }
+        return patch;
+    }
+}
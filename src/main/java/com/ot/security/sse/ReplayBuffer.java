@@ -0,0 +1,58 @@
+package com.ot.security.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 토픽별 최근 이벤트 링 버퍼 (Last-Event-ID 재전송용)
+ * - 스레드 안전하지 않으므로 허브 스레드에서만 사용한다.
+ * - 다른 인스턴스에서 중계된 이벤트는 id 순서와 도착 순서가 조금 다를 수 있으므로, 조회 시 id 로 거른다.
+ */
+public class ReplayBuffer {
+
+    private final SseMessage[] ring;
+    private int head;
+    private int size;
+    // 링에서 밀려난 이벤트 중 가장 큰 id (이 이하로는 재전송 불가)
+    private long evictedUpTo;
+
+    /**
+     * @param startId 이 버퍼가 담을 첫 이벤트 직전 id (이전 프로세스가 발급한 id 는 재전송할 수 없음)
+     */
+    public ReplayBuffer(int capacity, long startId) {
+        this.ring = new SseMessage[Math.max(capacity, 1)];
+        this.evictedUpTo = startId;
+    }
+
+    public void append(SseMessage message) {
+        int slot = (head + size) % ring.length;
+        if (size == ring.length) {
+            evictedUpTo = Math.max(evictedUpTo, ring[head].id());
+            head = (head + 1) % ring.length;
+        } else {
+            size++;
+        }
+        ring[slot] = message;
+    }
+
+    /**
+     * lastEventId 이후 이벤트가 모두 링에 남아 있는지 여부
+     */
+    public boolean covers(long lastEventId) {
+        return lastEventId >= evictedUpTo;
+    }
+
+    /**
+     * lastEventId 이후 이벤트 중 링에 남아 있는 것 (링 순서, 호출자가 id 로 정렬)
+     */
+    public List<SseMessage> since(long lastEventId) {
+        List<SseMessage> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            SseMessage message = ring[(head + i) % ring.length];
+            if (message.id() > lastEventId) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package com.ot.security.sse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 구독자별 서버측 이벤트 필터
+ * - 지정한 조건끼리는 AND, 조건 안의 값끼리는 OR 로 비교한다.
+ * - 이벤트에 해당 속성이 없으면 (예: 분석 완료 알림의 등급) 그 조건은 통과로 본다.
+ */
+public final class SseFilter {
+
+    private final Set<String> severities;
+    private final Set<String> engines;
+    // 자산 ID / 이름 / IP (trim, 소문자)
+    private final Set<String> assetKeys;
+    private final List<IpRange> networks;
+    private final Set<String> eventTypes;
+
+    private SseFilter(Set<String> severities, Set<String> engines, Set<String> assetKeys,
+                      List<IpRange> networks, Set<String> eventTypes) {
+        this.severities = severities;
+        this.engines = engines;
+        this.assetKeys = assetKeys;
+        this.networks = networks;
+        this.eventTypes = eventTypes;
+    }
+
+    /**
+     * 필터 생성 (null 또는 빈 목록은 조건 없음)
+     * @return 조건이 하나도 없으면 null
+     * @throws IllegalArgumentException CIDR 형식이 올바르지 않을 때
+     */
+    public static SseFilter of(Collection<String> severities, Collection<String> engines,
+                               Collection<String> assetKeys, Collection<String> cidrs,
+                               Collection<String> eventTypes) {
+        SseFilter filter = new SseFilter(
+                normalize(severities),
+                normalize(engines),
+                normalize(assetKeys),
+                cidrs == null ? List.of() : cidrs.stream().map(IpRange::parse).toList(),
+                normalize(eventTypes));
+        return filter.isEmpty() ? null : filter;
+    }
+
+    public boolean matches(String eventName, EventAttributes attributes) {
+        if (!eventTypes.isEmpty() && !eventTypes.contains(key(eventName))) {
+            return false;
+        }
+        if (!severities.isEmpty() && attributes.severity() != null
+                && !severities.contains(key(attributes.severity()))) {
+            return false;
+        }
+        if (!engines.isEmpty() && attributes.engine() != null && !engines.contains(key(attributes.engine()))) {
+            return false;
+        }
+        if (!assetKeys.isEmpty() && attributes.hasEndpoints()
+                && attributes.ips().stream().map(SseFilter::key).noneMatch(assetKeys::contains)
+                && attributes.assets().stream().map(SseFilter::key).noneMatch(assetKeys::contains)) {
+            return false;
+        }
+        return networks.isEmpty() || attributes.ips().isEmpty()
+                || attributes.ips().stream().anyMatch(ip -> networks.stream().anyMatch(range -> range.contains(ip)));
+    }
+
+    public boolean isEmpty() {
+        return severities.isEmpty() && engines.isEmpty() && assetKeys.isEmpty()
+                && networks.isEmpty() && eventTypes.isEmpty();
+    }
+
+    Set<String> getSeverities() {
+        return severities;
+    }
+
+    Set<String> getEngines() {
+        return engines;
+    }
+
+    Set<String> getAssetKeys() {
+        return assetKeys;
+    }
+
+    Set<String> getEventTypes() {
+        return eventTypes;
+    }
+
+    private static Set<String> normalize(Collection<String> values) {
+        if (values == null) {
+            return Set.of();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(SseFilter::key)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 필터 값과 이벤트 속성을 비교하기 위한 키 (trim, 소문자)
+     */
+    static String key(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "SseFilter{severities=" + severities + ", engines=" + engines + ", assets=" + assetKeys
+                + ", networks=" + networks + ", eventTypes=" + eventTypes + "}";
+    }
+}
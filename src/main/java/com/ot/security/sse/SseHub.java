@@ -0,0 +1,415 @@
+package com.ot.security.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 토픽별 multicast sink 기반 SSE 허브
+ * - 발행자는 이벤트를 허브 전용 스레드에 넘기기만 하므로, 구독자 수와 관계없이 발행 비용이 일정하다.
+ * - 구독자마다 bounded 전송 큐(SseSubscriber)를 두고, 느린 구독자는 DeliveryPolicy 에 따라
+ *   통계 tick 대체 / 하트비트 폐기 / overflow 누적 후 연결 종료로 처리한다.
+ * - 하트비트는 하나의 공유 타이머에서 만들어 모든 구독 스트림에 합쳐진다.
+ * - 이벤트 데이터는 발행 시 한 번만 JSON 바이트로 인코딩하고, 모든 구독자에게 같은 바이트 배열을 그대로 쓴다.
+ * - 상태형 토픽(통계)은 마지막 값을 보관해 새 구독자에게 먼저 보내고, 값이 바뀌지 않은 tick 은 발행하지 않는다.
+ *   변경분 토픽에는 seq 가 붙은 merge patch 만 발행한다.
+ * - 구독 등록과 보관 값 전송은 발행과 같은 허브 스레드에서 처리되므로, 스냅샷과 변경분 사이에 빈틈이나 역전이 없다.
+ * - 재전송 가능 토픽(위협 / 일반)의 이벤트는 발행 시 클러스터 전체에서 한 번 발급된 id 로 링 버퍼에 보관하고,
+ *   Last-Event-ID 로 재연결한 구독자에게 그 이후 이벤트만 다시 보낸다 (다른 인스턴스로 옮겨 와도 같은 id 기준).
+ *   링은 이 인스턴스가 처음 받은 이벤트부터 채워지므로, 그 이전 id 로 재연결하면 replay-gap 을 보낸다.
+ * - 필터 구독자는 이벤트형 토픽의 이벤트를 토픽별 SubscriberIndex 로 일치하는 것만 전달받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseHub {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ot-security.sse.timeout}")
+    private long sseTimeout;
+
+    @Value("${ot-security.sse.heartbeat}")
+    private long heartbeatInterval;
+
+    @Value("${ot-security.sse.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${ot-security.sse.max-overflows:32}")
+    private int maxOverflows;
+
+    @Value("${ot-security.sse.replay-size:1024}")
+    private int replaySize;
+
+    private final Map<SseTopic, Sinks.Many<SseMessage>> sinks = new EnumMap<>(SseTopic.class);
+    private final Map<SseTopic, AtomicInteger> subscriberCounts = new EnumMap<>(SseTopic.class);
+    private final Map<Long, SseSubscriber> subscribers = new ConcurrentHashMap<>();
+    // 허브 스레드에서만 접근
+    private final Map<SseTopic, SseMessage> retained = new EnumMap<>(SseTopic.class);
+    private final Map<SseTopic, StateStream> stateStreams = new EnumMap<>(SseTopic.class);
+    private final Map<SseTopic, ReplayBuffer> replayBuffers = new EnumMap<>(SseTopic.class);
+    private final Map<SseTopic, SubscriberIndex> routes = new EnumMap<>(SseTopic.class);
+    // 이 인스턴스가 발행 / 중계한 가장 큰 이벤트 id
+    private volatile long lastEventId;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-hub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Flux<SseMessage> heartbeats;
+    private SseMetrics metrics;
+
+    @PostConstruct
+    void init() {
+        for (SseTopic topic : SseTopic.values()) {
+            sinks.put(topic, Sinks.many().multicast().directBestEffort());
+            subscriberCounts.put(topic, new AtomicInteger());
+            routes.put(topic, new SubscriberIndex());
+        }
+        heartbeats = Flux.interval(Duration.ofMillis(heartbeatInterval))
+                .map(tick -> new SseMessage("heartbeat", encode(Map.of(
+                        "type", "heartbeat",
+                        "timestamp", String.valueOf(System.currentTimeMillis()))),
+                        DeliveryPolicy.BEST_EFFORT))
+                .share();
+
+        metrics = new SseMetrics(meterRegistry, subscriberCounts);
+        Gauge.builder("sse.queue.depth", subscribers, SseHub::totalQueueDepth)
+                .description("모든 구독자 전송 큐에 대기 중인 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.queue.depth.max", subscribers, SseHub::maxQueueDepth)
+                .description("가장 밀린 구독자의 전송 큐 길이")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() {
+        dispatcher.shutdown();
+        sinks.values().forEach(Sinks.Many::tryEmitComplete);
+    }
+
+    /**
+     * 토픽에 이벤트 발행 (호출 스레드는 구독자에게 직접 전송하지 않는다)
+     * @param attributes 필터 구독자 라우팅용 이벤트 속성
+     * @param publishedAt 원래 발행 시각 (다른 인스턴스에서 중계된 이벤트의 전달 지연 측정용)
+     * @param id 클러스터 이벤트 id (재전송 가능 토픽만 사용, ClusterEventBus.nextEventId 로 발급)
+     */
+    public void publish(SseTopic topic, String eventName, Object data, EventAttributes attributes,
+                        long publishedAt, long id) {
+        dispatcher.execute(() -> {
+            byte[] payload;
+            long startedAt = System.nanoTime();
+            try {
+                payload = encode(data);
+            } catch (IllegalArgumentException e) {
+                log.error("SSE 이벤트 인코딩 실패: {} / {}", topic, eventName, e);
+                return;
+            }
+            metrics.serialized(topic, System.nanoTime() - startedAt);
+
+            long messageId = topic.isReplayable() ? id : 0L;
+            SseMessage message = new SseMessage(messageId, topic, eventName, payload, topic.getDeliveryPolicy(),
+                    attributes, publishedAt);
+            if (topic.isReplayable()) {
+                replayBuffers.computeIfAbsent(topic, key -> new ReplayBuffer(replaySize, messageId - 1))
+                        .append(message);
+                lastEventId = Math.max(lastEventId, messageId);
+            }
+            emit(topic, message);
+            routes.get(topic).forEachMatch(eventName, attributes, subscriber -> subscriber.offer(message));
+        });
+    }
+
+    /**
+     * 상태형 이벤트 발행 (통계 tick)
+     * - ignoredFields 외에 바뀐 값이 없으면 발행하지 않는다.
+     * - topic 에는 전체 값을, deltaTopic 에는 {seq, patch} 를 eventName + "-delta" 로 발행하고,
+     *   deltaTopic 새 구독자에게는 {seq, data} 스냅샷을 eventName + "-snapshot" 으로 먼저 보낸다.
+     */
+    public void publishState(SseTopic topic, SseTopic deltaTopic, String eventName, Object state,
+                             Set<String> ignoredFields) {
+        long publishedAt = System.currentTimeMillis();
+        dispatcher.execute(() -> {
+            ObjectNode current;
+            byte[] full;
+            long startedAt = System.nanoTime();
+            try {
+                current = objectMapper.valueToTree(state);
+                full = objectMapper.writeValueAsBytes(current);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                log.error("SSE 상태 인코딩 실패: {} / {}", topic, eventName, e);
+                return;
+            }
+            metrics.serialized(topic, System.nanoTime() - startedAt);
+
+            StateStream stream = stateStreams.computeIfAbsent(deltaTopic, key -> new StateStream());
+            ObjectNode patch = stream.previous != null
+                    ? JsonMergePatch.diff(stream.previous, current, ignoredFields)
+                    : null;
+            if (stream.previous != null && patch == null) {
+                return;
+            }
+            long seq = ++stream.seq;
+            stream.previous = current;
+
+            SseMessage fullMessage = stateMessage(topic, eventName, full, publishedAt);
+            retained.put(topic, fullMessage);
+            emit(topic, fullMessage);
+
+            retained.put(deltaTopic, stateMessage(deltaTopic, eventName + "-snapshot",
+                    wrap("{\"seq\":" + seq + ",\"data\":", full), publishedAt));
+            if (patch != null) {
+                long deltaStartedAt = System.nanoTime();
+                byte[] delta = encode(Map.of("seq", seq, "patch", patch));
+                metrics.serialized(deltaTopic, System.nanoTime() - deltaStartedAt);
+                emit(deltaTopic, stateMessage(deltaTopic, eventName + "-delta", delta, publishedAt));
+            }
+        });
+    }
+
+    private static SseMessage stateMessage(SseTopic topic, String eventName, byte[] data, long publishedAt) {
+        return new SseMessage(0L, topic, eventName, data, topic.getDeliveryPolicy(), EventAttributes.UNKNOWN,
+                publishedAt);
+    }
+
+    /**
+     * sink 구독자에게 발행 (허브 스레드에서 호출)
+     */
+    private void emit(SseTopic topic, SseMessage message) {
+        Sinks.EmitResult result = sinks.get(topic).tryEmitNext(message);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            metrics.emitFailed(topic);
+            log.debug("SSE 발행 실패: {} / {} - {}", topic, message.event(), result);
+        }
+    }
+
+    /**
+     * 토픽 구독 스트림 생성
+     * @param topics 구독할 토픽
+     * @param greeting 연결 직후 전송할 connect 이벤트 메시지
+     * @param resumeFrom 재연결 시 Last-Event-ID (없으면 null)
+     */
+    public Flux<ServerSentEvent<byte[]>> subscribe(Set<SseTopic> topics, String greeting, Long resumeFrom) {
+        return subscribe(topics, greeting, resumeFrom, null);
+    }
+
+    /**
+     * 필터 구독 스트림 생성
+     * - 필터 구독자는 토픽 sink 대신 라우팅 인덱스로 일치하는 이벤트만 받는다.
+     * @param filter 서버측 필터 (null 이면 토픽의 모든 이벤트)
+     */
+    public Flux<ServerSentEvent<byte[]>> subscribe(Set<SseTopic> topics, String greeting, Long resumeFrom,
+                                                  SseFilter filter) {
+        return Flux.defer(() -> {
+            SseSubscriber subscriber = new SseSubscriber(topics, filter, subscriberBuffer, maxOverflows, metrics);
+            subscriber.offer(new SseMessage("connect", encode(greeting), DeliveryPolicy.RELIABLE));
+
+            List<Flux<SseMessage>> sources = new ArrayList<>();
+            for (SseTopic topic : topics) {
+                if (!routed(subscriber, topic)) {
+                    sources.add(sinks.get(topic).asFlux());
+                }
+            }
+            sources.add(heartbeats);
+
+            AtomicReference<Disposable> upstream = new AtomicReference<>();
+            dispatcher.execute(() -> {
+                for (SseTopic topic : topics) {
+                    SseMessage last = retained.get(topic);
+                    if (last != null) {
+                        subscriber.offer(last);
+                    }
+                }
+                if (resumeFrom != null) {
+                    replay(subscriber, topics, resumeFrom);
+                }
+                Disposable subscription = Flux.merge(sources).subscribe(subscriber::offer);
+                if (!upstream.compareAndSet(null, subscription)) {
+                    // 등록 전에 연결이 끊긴 경우
+                    subscription.dispose();
+                    return;
+                }
+                topics.stream()
+                        .filter(topic -> routed(subscriber, topic))
+                        .forEach(topic -> routes.get(topic).add(subscriber));
+            });
+
+            subscribers.put(subscriber.getId(), subscriber);
+            topics.forEach(topic -> subscriberCounts.get(topic).incrementAndGet());
+            metrics.connected(topics);
+
+            return subscriber.outbound()
+                    .take(Duration.ofMillis(sseTimeout))
+                    .doFinally(signal -> {
+                        Disposable subscription = upstream.getAndSet(Disposables.disposed());
+                        if (subscription != null) {
+                            subscription.dispose();
+                        }
+                        if (subscription != null && subscriber.isFiltered()) {
+                            unroute(subscriber);
+                        }
+                        subscribers.remove(subscriber.getId());
+                        topics.forEach(topic -> subscriberCounts.get(topic).decrementAndGet());
+                        metrics.disconnected(topics, signal == SignalType.CANCEL || signal == SignalType.ON_ERROR);
+                        log.debug("SSE 연결 종료: #{} {} ({})", subscriber.getId(), topics, signal);
+                    });
+        });
+    }
+
+    /**
+     * 필터는 이벤트형 토픽에만 적용하고, 상태형 토픽(통계)은 필터 구독자도 sink 로 받는다
+     */
+    private static boolean routed(SseSubscriber subscriber, SseTopic topic) {
+        return subscriber.isFiltered() && topic.isReplayable();
+    }
+
+    private void unroute(SseSubscriber subscriber) {
+        try {
+            dispatcher.execute(() -> subscriber.getTopics().stream()
+                    .filter(topic -> routed(subscriber, topic))
+                    .forEach(topic -> routes.get(topic).remove(subscriber)));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    /**
+     * resumeFrom 이후 이벤트 재전송 (허브 스레드에서 호출)
+     * - 일부가 이미 링에서 밀려났다면 남은 이벤트를 보낸 뒤 replay-gap 이벤트로 알려 클라이언트가 전체를 다시 조회하게 한다.
+     * - 재전송은 구독자 큐의 남은 자리까지만 적재한다. 넘치는 부분을 overflow 로 세면 재전송 중에 연결이 끊기고
+     *   같은 Last-Event-ID 로 재연결을 반복하므로, 나머지는 replay-gap 으로 대신한다.
+     */
+    private void replay(SseSubscriber subscriber, Set<SseTopic> topics, long resumeFrom) {
+        List<SseMessage> missed = new ArrayList<>();
+        boolean complete = true;
+        for (SseTopic topic : topics) {
+            if (!topic.isReplayable()) {
+                continue;
+            }
+            ReplayBuffer buffer = replayBuffers.get(topic);
+            if (buffer == null) {
+                // 이 인스턴스가 아직 이 토픽 이벤트를 받은 적이 없으면 빠진 이벤트가 있는지 알 수 없다
+                complete = false;
+                continue;
+            }
+            complete &= buffer.covers(resumeFrom);
+            missed.addAll(buffer.since(resumeFrom));
+        }
+        if (subscriber.isFiltered()) {
+            missed.removeIf(message -> !subscriber.getFilter().matches(message.event(), message.attributes()));
+        }
+        missed.sort(Comparator.comparingLong(SseMessage::id));
+        // replay-gap 한 자리는 남겨 둔다
+        int room = Math.max(subscriber.getFreeCapacity() - 1, 0);
+        if (missed.size() > room) {
+            missed = missed.subList(0, room);
+            complete = false;
+        }
+        missed.forEach(subscriber::offer);
+
+        if (!complete) {
+            subscriber.offer(new SseMessage("replay-gap",
+                    encode(Map.of("lastEventId", resumeFrom)), DeliveryPolicy.RELIABLE));
+        }
+        log.debug("SSE 재연결 #{}: Last-Event-ID={} 이후 {} 건 재전송 (누락 {})",
+                subscriber.getId(), resumeFrom, missed.size(), !complete);
+    }
+
+    /**
+     * 현재 연결된 구독자
+     */
+    public Collection<SseSubscriber> getSubscribers() {
+        return List.copyOf(subscribers.values());
+    }
+
+    /**
+     * 마지막으로 발급한 위협 / 일반 이벤트 id
+     */
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * 토픽을 구독 중인 연결 수
+     */
+    public int getSubscriberCount(SseTopic topic) {
+        return subscriberCounts.get(topic).get();
+    }
+
+    /**
+     * 이벤트 데이터 인코딩 (문자열은 기존 SseEmitter 와 같이 따옴표 없이 그대로 전송)
+     */
+    private byte[] encode(Object data) {
+        if (data instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static byte[] wrap(String prefix, byte[] body) {
+        byte[] head = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[head.length + body.length + 1];
+        System.arraycopy(head, 0, result, 0, head.length);
+        System.arraycopy(body, 0, result, head.length, body.length);
+        result[result.length - 1] = '}';
+        return result;
+    }
+
+    private static double totalQueueDepth(Map<Long, SseSubscriber> subscribers) {
+        return queueDepths(subscribers.values()).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static double maxQueueDepth(Map<Long, SseSubscriber> subscribers) {
+        return queueDepths(subscribers.values()).stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private static List<Integer> queueDepths(Collection<SseSubscriber> subscribers) {
+        List<Integer> depths = new ArrayList<>(subscribers.size());
+        subscribers.forEach(subscriber -> depths.add(subscriber.getQueueDepth()));
+        return depths;
+    }
+
+    /**
+     * 상태형 토픽의 마지막 값과 seq (허브 스레드 전용)
+     */
+    private static final class StateStream {
+        private ObjectNode previous;
+        private long seq;
+    }
+}
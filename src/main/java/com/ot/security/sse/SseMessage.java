@@ -0,0 +1,33 @@
+package com.ot.security.sse;
+
+import org.springframework.http.codec.ServerSentEvent;
+
+/**
+ * 인코딩이 끝난 SSE 이벤트 (모든 구독자가 같은 인스턴스를 공유한다)
+ * @param id 이벤트 id (0 이면 id 없이 전송, 브라우저의 Last-Event-ID 가 바뀌지 않는다)
+ * @param topic 발행 토픽 (connect / heartbeat 같은 제어 이벤트는 null)
+ * @param event 이벤트 이름
+ * @param data JSON 인코딩된 데이터
+ * @param policy 전송 큐가 밀렸을 때의 처리 방식
+ * @param attributes 필터 구독자 라우팅용 속성 (재전송 시에도 다시 필터링한다)
+ * @param publishedAt 발행 시각 (epoch ms, 다른 인스턴스에서 중계된 이벤트는 원래 인스턴스의 발행 시각)
+ */
+public record SseMessage(long id, SseTopic topic, String event, byte[] data, DeliveryPolicy policy,
+                         EventAttributes attributes, long publishedAt) {
+
+    public SseMessage(long id, String event, byte[] data, DeliveryPolicy policy) {
+        this(id, null, event, data, policy, EventAttributes.UNKNOWN, System.currentTimeMillis());
+    }
+
+    public SseMessage(String event, byte[] data, DeliveryPolicy policy) {
+        this(0L, event, data, policy);
+    }
+
+    public ServerSentEvent<byte[]> toServerSentEvent() {
+        ServerSentEvent.Builder<byte[]> builder = ServerSentEvent.builder(data).event(event);
+        if (id > 0) {
+            builder.id(Long.toString(id));
+        }
+        return builder.build();
+    }
+}
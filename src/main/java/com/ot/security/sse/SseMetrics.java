@@ -0,0 +1,150 @@
+package com.ot.security.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 전송 Micrometer 지표 (channel 태그: 토픽 채널 이름, 제어 이벤트는 control)
+ * - sse.subscribers: 채널별 연결 수
+ * - sse.connections.opened / closed: 채널별 연결 / 종료 수 (rate 로 연결 변동 확인)
+ * - sse.serialization: 발행 시 JSON 인코딩 시간
+ * - sse.send.latency: 구독자 큐에 들어간 뒤 응답 스트림으로 넘어갈 때까지 걸린 시간
+ * - sse.delivery.lag: 발행(위협은 저장 직후) 시각부터 응답 스트림으로 넘어갈 때까지 걸린 시간
+ * - sse.bytes.sent: 전송한 이벤트 데이터 바이트 수
+ * - sse.send.failures: 전송 실패 (reason=emit: sink 발행 실패, reason=disconnect: 쓰기 실패 / 클라이언트 끊김)
+ * - sse.events.dropped / sse.subscribers.evicted: 느린 구독자 처리
+ */
+public class SseMetrics {
+
+    private static final String CONTROL = "control";
+
+    private final Map<SseTopic, Channel> channels = new EnumMap<>(SseTopic.class);
+    private final Channel control;
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public SseMetrics(MeterRegistry registry, Map<SseTopic, AtomicInteger> subscriberCounts) {
+        for (SseTopic topic : SseTopic.values()) {
+            channels.put(topic, new Channel(registry, topic.getChannel()));
+            Gauge.builder("sse.subscribers", subscriberCounts.get(topic), AtomicInteger::get)
+                    .description("채널별 SSE 연결 수")
+                    .tag("channel", topic.getChannel())
+                    .register(registry);
+        }
+        control = new Channel(registry, CONTROL);
+
+        droppedCounter = Counter.builder("sse.events.dropped")
+                .description("느린 구독자 큐에서 대체 / 폐기된 이벤트 수")
+                .register(registry);
+        evictedCounter = Counter.builder("sse.subscribers.evicted")
+                .description("전송 지연으로 연결이 종료된 구독자 수")
+                .register(registry);
+    }
+
+    public void connected(Set<SseTopic> topics) {
+        topics.forEach(topic -> channels.get(topic).opened.increment());
+    }
+
+    /**
+     * @param failed 쓰기 실패 / 클라이언트 끊김으로 종료되었는지 여부 (타임아웃 / 정상 종료는 false)
+     */
+    public void disconnected(Set<SseTopic> topics, boolean failed) {
+        for (SseTopic topic : topics) {
+            Channel channel = channels.get(topic);
+            channel.closed.increment();
+            if (failed) {
+                channel.disconnectFailures.increment();
+            }
+        }
+    }
+
+    public void serialized(SseTopic topic, long nanos) {
+        channels.get(topic).serialization.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void emitFailed(SseTopic topic) {
+        channels.get(topic).emitFailures.increment();
+    }
+
+    /**
+     * 구독자 큐에서 응답 스트림으로 넘긴 이벤트 기록
+     * @param queuedNanos 큐에서 기다린 시간
+     */
+    public void sent(SseMessage message, long queuedNanos) {
+        Channel channel = message.topic() != null ? channels.get(message.topic()) : control;
+        channel.sendLatency.record(queuedNanos, TimeUnit.NANOSECONDS);
+        channel.bytesSent.increment(message.data().length);
+        if (message.topic() != null) {
+            channel.deliveryLag.record(Math.max(0, System.currentTimeMillis() - message.publishedAt()),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void dropped() {
+        droppedCounter.increment();
+    }
+
+    public void evicted() {
+        evictedCounter.increment();
+    }
+
+    private static final class Channel {
+        private final Counter opened;
+        private final Counter closed;
+        private final Timer serialization;
+        private final Timer sendLatency;
+        private final Timer deliveryLag;
+        private final Counter bytesSent;
+        private final Counter emitFailures;
+        private final Counter disconnectFailures;
+
+        private Channel(MeterRegistry registry, String channel) {
+            opened = Counter.builder("sse.connections.opened")
+                    .description("SSE 연결 수")
+                    .tag("channel", channel)
+                    .register(registry);
+            closed = Counter.builder("sse.connections.closed")
+                    .description("SSE 연결 종료 수")
+                    .tag("channel", channel)
+                    .register(registry);
+            serialization = Timer.builder("sse.serialization")
+                    .description("발행 시 이벤트 JSON 인코딩 시간")
+                    .tag("channel", channel)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            sendLatency = Timer.builder("sse.send.latency")
+                    .description("구독자 전송 큐 대기 시간")
+                    .tag("channel", channel)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            deliveryLag = Timer.builder("sse.delivery.lag")
+                    .description("발행(저장 직후)부터 클라이언트 응답 스트림 전달까지 걸린 시간")
+                    .tag("channel", channel)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            bytesSent = Counter.builder("sse.bytes.sent")
+                    .description("전송한 SSE 이벤트 데이터 크기")
+                    .baseUnit("bytes")
+                    .tag("channel", channel)
+                    .register(registry);
+            emitFailures = Counter.builder("sse.send.failures")
+                    .description("SSE 전송 실패 수")
+                    .tag("channel", channel)
+                    .tag("reason", "emit")
+                    .register(registry);
+            disconnectFailures = Counter.builder("sse.send.failures")
+                    .description("SSE 전송 실패 수")
+                    .tag("channel", channel)
+                    .tag("reason", "disconnect")
+                    .register(registry);
+        }
+    }
+}
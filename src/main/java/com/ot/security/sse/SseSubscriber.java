@@ -0,0 +1,224 @@
+package com.ot.security.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SSE 구독자 한 명의 전송 큐
+ * - 허브는 offer 로 이벤트를 적재만 하고, 실제 전송은 클라이언트가 다음 이벤트를 요청할 때(이전 전송 완료 후)
+ *   writer 스레드에서 이루어진다.
+ * - 큐가 capacity 를 넘으면 이벤트의 DeliveryPolicy 에 따라 대체 / 폐기 / overflow 처리하고,
+ *   overflow 가 maxOverflows 에 도달하면 연결을 끊는다 (클라이언트는 재연결한다).
+ */
+@Slf4j
+public class SseSubscriber {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long id = SEQUENCE.incrementAndGet();
+    private final Set<SseTopic> topics;
+    private final SseFilter filter;
+    private final long connectedAt = System.currentTimeMillis();
+    private final int capacity;
+    private final int maxOverflows;
+    private final SseMetrics metrics;
+
+    private final ArrayDeque<Slot> queue = new ArrayDeque<>();
+    private final Map<String, Slot> pendingLatest = new HashMap<>();
+    private FluxSink<ServerSentEvent<byte[]>> sink;
+    private int overflows;
+    private long dropped;
+    private boolean evicted;
+    private long sentEvents;
+    private long sentBytes;
+    private long lastSentAt;
+    private long lastSentId;
+
+    /**
+     * @param filter 서버측 필터 (null 이면 토픽의 모든 이벤트 수신)
+     */
+    public SseSubscriber(Set<SseTopic> topics, SseFilter filter, int capacity, int maxOverflows,
+                         SseMetrics metrics) {
+        this.topics = topics;
+        this.filter = filter;
+        this.capacity = capacity;
+        this.maxOverflows = maxOverflows;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 클라이언트로 나가는 스트림 (요청량만큼만 큐에서 꺼내 전송)
+     */
+    public Flux<ServerSentEvent<byte[]>> outbound() {
+        return Flux.create(fluxSink -> {
+            synchronized (this) {
+                sink = fluxSink;
+            }
+            fluxSink.onRequest(requested -> drain());
+        });
+    }
+
+    /**
+     * 이벤트 적재
+     */
+    public synchronized void offer(SseMessage message) {
+        if (evicted) {
+            return;
+        }
+
+        if (message.policy() == DeliveryPolicy.LATEST) {
+            // 아직 전송되지 않은 이전 tick 은 새 값으로 대체
+            Slot pending = pendingLatest.get(message.event());
+            if (pending != null) {
+                pending.message = message;
+                drop();
+                return;
+            }
+        }
+
+        if (queue.size() >= capacity) {
+            switch (message.policy()) {
+                case BEST_EFFORT, LATEST -> {
+                    drop();
+                    return;
+                }
+                case RELIABLE -> {
+                    if (++overflows >= maxOverflows) {
+                        evict();
+                        return;
+                    }
+                }
+            }
+        }
+
+        Slot slot = new Slot(message);
+        queue.add(slot);
+        if (message.policy() == DeliveryPolicy.LATEST) {
+            pendingLatest.put(message.event(), slot);
+        }
+        drain();
+    }
+
+    private synchronized void drain() {
+        if (sink == null) {
+            return;
+        }
+        while (!queue.isEmpty() && sink.requestedFromDownstream() > 0) {
+            Slot slot = queue.poll();
+            SseMessage message = slot.message;
+            if (message.policy() == DeliveryPolicy.LATEST) {
+                pendingLatest.remove(message.event());
+            }
+            sink.next(message.toServerSentEvent());
+
+            metrics.sent(message, System.nanoTime() - slot.enqueuedAt);
+            sentEvents++;
+            sentBytes += message.data().length;
+            lastSentAt = System.currentTimeMillis();
+            if (message.id() > 0) {
+                lastSentId = message.id();
+            }
+        }
+    }
+
+    private void drop() {
+        dropped++;
+        metrics.dropped();
+    }
+
+    private void evict() {
+        evicted = true;
+        queue.clear();
+        pendingLatest.clear();
+        metrics.evicted();
+        log.warn("SSE 구독자 #{} 전송 지연으로 연결 종료 (overflow {}회)", id, overflows);
+        if (sink != null) {
+            sink.complete();
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Set<SseTopic> getTopics() {
+        return topics;
+    }
+
+    public SseFilter getFilter() {
+        return filter;
+    }
+
+    public boolean isFiltered() {
+        return filter != null;
+    }
+
+    public long getConnectedAt() {
+        return connectedAt;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * overflow 없이 더 적재할 수 있는 이벤트 수
+     */
+    public synchronized int getFreeCapacity() {
+        return Math.max(capacity - queue.size(), 0);
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized int getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * 큐에서 가장 오래 기다린 이벤트의 대기 시간 (ms, 큐가 비어 있으면 0)
+     */
+    public synchronized long getOldestQueuedMillis() {
+        Slot oldest = queue.peek();
+        return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAt);
+    }
+
+    public synchronized long getSentEvents() {
+        return sentEvents;
+    }
+
+    public synchronized long getSentBytes() {
+        return sentBytes;
+    }
+
+    public synchronized long getLastSentAt() {
+        return lastSentAt;
+    }
+
+    /**
+     * 마지막으로 전송한 위협 / 일반 이벤트 id (0 이면 아직 없음)
+     */
+    public synchronized long getLastSentId() {
+        return lastSentId;
+    }
+
+    private static final class Slot {
+        // LATEST 대체 시에도 처음 들어온 시각을 유지해 대기 시간을 잰다
+        private final long enqueuedAt = System.nanoTime();
+        private SseMessage message;
+
+        private Slot(SseMessage message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ot.security.sse;
+
+/**
+ * SSE 발행 토픽
+ * - 구독자는 하나 이상의 토픽을 구독하고, 발행자는 이벤트를 하나의 토픽에만 발행한다.
+ * - 한 연결에서 여러 토픽을 구독해도 각 이벤트는 한 번만 전달된다 (channel 은 /api/sse/stream 의 채널 이름).
+ */
+public enum SseTopic {
+
+    /**
+     * 일반 이벤트 (sendToAll)
+     */
+    GENERAL("general", DeliveryPolicy.RELIABLE, true),
+
+    /**
+     * 위협 / XAI 분석 이벤트
+     */
+    THREATS("threats", DeliveryPolicy.RELIABLE, true),
+
+    /**
+     * 대시보드 통계
+     */
+    STATS("stats", DeliveryPolicy.LATEST, false),
+
+    /**
+     * 대시보드 통계 변경분 (연결 시 스냅샷 1회 후 seq 가 붙은 merge patch, 누락되면 안 되므로 대체하지 않는다)
+     */
+    STATS_DELTA("stats-delta", DeliveryPolicy.RELIABLE, false);
+
+    private final String channel;
+    private final DeliveryPolicy deliveryPolicy;
+    // 이벤트형 토픽: 재연결 시 Last-Event-ID 이후 이벤트를 재전송하고 구독 필터를 적용한다 (상태형 토픽은 스냅샷으로 대신한다)
+    private final boolean replayable;
+
+    SseTopic(String channel, DeliveryPolicy deliveryPolicy, boolean replayable) {
+        this.channel = channel;
+        this.deliveryPolicy = deliveryPolicy;
+        this.replayable = replayable;
+    }
+
+    /**
+     * 채널 이름으로 토픽 조회
+     * @throws IllegalArgumentException 알 수 없는 채널일 때
+     */
+    public static SseTopic fromChannel(String channel) {
+        for (SseTopic topic : values()) {
+            if (topic.channel.equalsIgnoreCase(channel.trim())) {
+                return topic;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 SSE 채널: " + channel);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public DeliveryPolicy getDeliveryPolicy() {
+        return deliveryPolicy;
+    }
+
+    public boolean isReplayable() {
+        return replayable;
+    }
+}
@@ -0,0 +1,123 @@
+package com.ot.security.sse;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 필터 구독자 라우팅 인덱스 (토픽별, 허브 스레드에서만 사용)
+ * - 구독자는 필터의 가장 선택적인 조건 하나(자산 > 등급 > 엔진 > 이벤트 종류)의 값마다 등록되고,
+ *   발행 시에는 이벤트 속성으로 찾은 후보에게만 전체 필터를 적용하므로 발행 비용이 전체 구독자 수가 아닌
+ *   후보 수에 비례한다.
+ * - CIDR 조건만 있는 구독자는 인덱스 키가 없어 매 이벤트마다 필터를 평가한다.
+ * - 인덱스 키는 필터 값이 정규화된 형태(trim, 소문자)이므로 이벤트 속성도 같은 형태로 바꿔 찾는다.
+ */
+public class SubscriberIndex {
+
+    private final Map<String, Set<SseSubscriber>> byAsset = new HashMap<>();
+    private final Map<String, Set<SseSubscriber>> bySeverity = new HashMap<>();
+    private final Map<String, Set<SseSubscriber>> byEngine = new HashMap<>();
+    private final Map<String, Set<SseSubscriber>> byEventType = new HashMap<>();
+    private final Set<SseSubscriber> unindexed = new HashSet<>();
+    private int size;
+
+    public void add(SseSubscriber subscriber) {
+        SseFilter filter = subscriber.getFilter();
+        if (!filter.getAssetKeys().isEmpty()) {
+            register(byAsset, filter.getAssetKeys(), subscriber);
+        } else if (!filter.getSeverities().isEmpty()) {
+            register(bySeverity, filter.getSeverities(), subscriber);
+        } else if (!filter.getEngines().isEmpty()) {
+            register(byEngine, filter.getEngines(), subscriber);
+        } else if (!filter.getEventTypes().isEmpty()) {
+            register(byEventType, filter.getEventTypes(), subscriber);
+        } else {
+            unindexed.add(subscriber);
+        }
+        size++;
+    }
+
+    public void remove(SseSubscriber subscriber) {
+        SseFilter filter = subscriber.getFilter();
+        if (!filter.getAssetKeys().isEmpty()) {
+            unregister(byAsset, filter.getAssetKeys(), subscriber);
+        } else if (!filter.getSeverities().isEmpty()) {
+            unregister(bySeverity, filter.getSeverities(), subscriber);
+        } else if (!filter.getEngines().isEmpty()) {
+            unregister(byEngine, filter.getEngines(), subscriber);
+        } else if (!filter.getEventTypes().isEmpty()) {
+            unregister(byEventType, filter.getEventTypes(), subscriber);
+        } else {
+            unindexed.remove(subscriber);
+        }
+        size--;
+    }
+
+    /**
+     * 이벤트와 일치하는 구독자마다 action 실행 (구독자당 한 번)
+     */
+    public void forEachMatch(String eventName, EventAttributes attributes, Consumer<SseSubscriber> action) {
+        if (size == 0) {
+            return;
+        }
+
+        Set<SseSubscriber> candidates = new LinkedHashSet<>();
+        if (attributes.hasEndpoints()) {
+            attributes.ips().forEach(ip -> collect(byAsset, SseFilter.key(ip), candidates));
+            attributes.assets().forEach(asset -> collect(byAsset, SseFilter.key(asset), candidates));
+        } else {
+            byAsset.values().forEach(candidates::addAll);
+        }
+        collectOrAll(bySeverity, SseFilter.key(attributes.severity()), candidates);
+        collectOrAll(byEngine, SseFilter.key(attributes.engine()), candidates);
+        collect(byEventType, SseFilter.key(eventName), candidates);
+        candidates.addAll(unindexed);
+
+        for (SseSubscriber subscriber : candidates) {
+            if (subscriber.getFilter().matches(eventName, attributes)) {
+                action.accept(subscriber);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void register(Map<String, Set<SseSubscriber>> index, Collection<String> keys,
+                                 SseSubscriber subscriber) {
+        keys.forEach(key -> index.computeIfAbsent(key, k -> new HashSet<>()).add(subscriber));
+    }
+
+    private static void unregister(Map<String, Set<SseSubscriber>> index, Collection<String> keys,
+                                   SseSubscriber subscriber) {
+        for (String key : keys) {
+            Set<SseSubscriber> bucket = index.get(key);
+            if (bucket != null && bucket.remove(subscriber) && bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static void collect(Map<String, Set<SseSubscriber>> index, String key, Set<SseSubscriber> into) {
+        Set<SseSubscriber> bucket = index.get(key);
+        if (bucket != null) {
+            into.addAll(bucket);
+        }
+    }
+
+    /**
+     * 이벤트에 속성이 없으면 그 조건으로 등록된 구독자 모두 후보
+     */
+    private static void collectOrAll(Map<String, Set<SseSubscriber>> index, String key, Set<SseSubscriber> into) {
+        if (key == null) {
+            index.values().forEach(into::addAll);
+        } else {
+            collect(index, key, into);
+        }
+    }
+}
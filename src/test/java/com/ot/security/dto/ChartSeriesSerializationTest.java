@@ -0,0 +1,42 @@
+package com.ot.security.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChartSeriesSerializationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void trafficSeries_keepsLegacyBucketFormat() throws Exception {
+        TrafficSeriesDTO series = new TrafficSeriesDTO(1);
+        series.add(1_700_000_000_000L, 10, 2048, 12, 4.55, 0.01, 0.0);
+        series.add(1_700_003_600_000L, 0, 0, 0, 0, 0, 0);
+
+        String json = objectMapper.writeValueAsString(series);
+
+        assertThat(json).isEqualTo("["
+                + "{\"time\":\"2023-11-14T22:13:20.000Z\",\"count\":10,\"bytes\":2048,\"packets\":12,\"bps\":4.55,\"pps\":0.01,\"value\":0.0},"
+                + "{\"time\":\"2023-11-14T23:13:20.000Z\",\"count\":0,\"bytes\":0,\"packets\":0,\"bps\":0.0,\"pps\":0.0,\"value\":0.0}"
+                + "]");
+    }
+
+    @Test
+    void protocolSeries_writesOnlyProtocolsSeenThatDay() throws Exception {
+        ProtocolSeriesDTO series = new ProtocolSeriesDTO(1);
+        int first = series.addDay(1_700_000_000_000L, 30);
+        series.addProtocol(first, "Modbus", 20);
+        series.addProtocol(first, "TCP", 10);
+        int second = series.addDay(1_700_086_400_000L, 5);
+        series.addProtocol(second, "TCP", 5);
+
+        String json = objectMapper.writeValueAsString(series);
+
+        assertThat(json).isEqualTo("["
+                + "{\"date\":\"2023-11-14T22:13:20.000Z\",\"timestamp\":1700000000000,\"protocols\":{\"Modbus\":20,\"TCP\":10},\"total\":30},"
+                + "{\"date\":\"2023-11-15T22:13:20.000Z\",\"timestamp\":1700086400000,\"protocols\":{\"TCP\":5},\"total\":5}"
+                + "]");
+    }
+}
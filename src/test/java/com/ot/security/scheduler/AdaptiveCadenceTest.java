@@ -0,0 +1,44 @@
+package com.ot.security.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveCadenceTest {
+
+    @Test
+    void backsOffWhileUnchangedAndResetsOnChange() {
+        AdaptiveCadence cadence = new AdaptiveCadence(1000, 4000, 4);
+        assertThat(cadence.tick()).isTrue();
+
+        cadence.completed(10, false);
+        assertThat(cadence.getIntervalMillis()).isEqualTo(2000);
+        cadence.completed(10, false);
+        cadence.completed(10, false);
+        assertThat(cadence.getIntervalMillis()).isEqualTo(4000);
+        assertThat(ticksUntilDue(cadence)).isEqualTo(4);
+
+        cadence.completed(10, true);
+        assertThat(cadence.getIntervalMillis()).isEqualTo(1000);
+        assertThat(ticksUntilDue(cadence)).isEqualTo(1);
+    }
+
+    @Test
+    void slowRunsStretchInterval() {
+        AdaptiveCadence cadence = new AdaptiveCadence(1000, 10_000, 4);
+
+        cadence.completed(600, true);
+
+        assertThat(ticksUntilDue(cadence)).isEqualTo(3);
+        cadence.reset();
+        assertThat(cadence.tick()).isTrue();
+    }
+
+    private static int ticksUntilDue(AdaptiveCadence cadence) {
+        int ticks = 1;
+        while (!cadence.tick()) {
+            ticks++;
+        }
+        return ticks;
+    }
+}
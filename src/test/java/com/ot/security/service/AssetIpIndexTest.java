@@ -0,0 +1,46 @@
+package com.ot.security.service;
+
+import com.ot.security.entity.Asset;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssetIpIndexTest {
+
+    @Test
+    void find_matchesPackedIpv4AndFallbackAddresses() {
+        AssetIpIndex.Table table = AssetIpIndex.Table.of(List.of(
+                asset("PLC-01", "10.0.0.5"),
+                asset("HMI-01", " 192.168.10.80 "),
+                asset("SCADA-01", "255.255.255.1"),   // 부호 비트가 켜지는 주소
+                asset("PLC-DUP", "10.0.0.5"),
+                asset("GW-V6", "fe80::1"),
+                asset("NO-IP", null)));
+
+        assertThat(table.size()).isEqualTo(4);
+        assertThat(table.find("10.0.0.5").assetId()).isEqualTo("PLC-01");
+        assertThat(table.find("192.168.10.80").assetId()).isEqualTo("HMI-01");
+        assertThat(table.find("255.255.255.1").assetId()).isEqualTo("SCADA-01");
+        assertThat(table.find("fe80::1").assetId()).isEqualTo("GW-V6");
+        assertThat(table.find("10.0.0.6")).isNull();
+        assertThat(table.find("")).isNull();
+        assertThat(table.find(null)).isNull();
+    }
+
+    @Test
+    void parseIpv4_rejectsMalformedAddresses() {
+        assertThat(AssetIpIndex.Table.parseIpv4("1.2.3.4")).isEqualTo(0x01020304L);
+        assertThat(AssetIpIndex.Table.parseIpv4("255.255.255.255")).isEqualTo(0xFFFFFFFFL);
+        assertThat(AssetIpIndex.Table.parseIpv4("1.2.3")).isEqualTo(-1);
+        assertThat(AssetIpIndex.Table.parseIpv4("1.2.3.4.5")).isEqualTo(-1);
+        assertThat(AssetIpIndex.Table.parseIpv4("1.2..4")).isEqualTo(-1);
+        assertThat(AssetIpIndex.Table.parseIpv4("1.2.3.256")).isEqualTo(-1);
+        assertThat(AssetIpIndex.Table.parseIpv4("plc.local")).isEqualTo(-1);
+    }
+
+    private Asset asset(String assetId, String ip) {
+        return Asset.builder().assetId(assetId).ipAddress(ip).name(assetId).assetType("plc").build();
+    }
+}
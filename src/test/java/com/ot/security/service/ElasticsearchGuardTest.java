@@ -0,0 +1,64 @@
+package com.ot.security.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ElasticsearchGuardTest {
+
+    private static final ElasticsearchGuard.QueryType TYPE = ElasticsearchGuard.QueryType.COUNT;
+
+    private ElasticsearchGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        ElasticsearchClient client = mock(ElasticsearchClient.class);
+        when(client._transport()).thenReturn(mock(ElasticsearchTransport.class));
+
+        guard = new ElasticsearchGuard(client);
+        ReflectionTestUtils.setField(guard, "callTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(guard, "failureThreshold", 1);
+        ReflectionTestUtils.setField(guard, "openDuration", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(guard, "maxConcurrent", 1);
+        ReflectionTestUtils.invokeMethod(guard, "init");
+    }
+
+    @Test
+    void call_halfOpenTrialSurvivesBulkheadRejection() throws InterruptedException {
+        guard.call(TYPE, "count", -1L, client -> {
+            throw new IOException("cluster down");
+        });
+        assertThat(guard.isCircuitOpen(TYPE)).isTrue();
+        Thread.sleep(30);
+
+        // half-open 시점에 bulkhead 가 가득 차 있으면 시험 호출 없이 대체값 반환
+        Semaphore bulkhead = bulkhead();
+        bulkhead.acquire();
+        long rejected = guard.call(TYPE, "count", -1L, client -> 1L);
+        bulkhead.release();
+        assertThat(rejected).isEqualTo(-1L);
+
+        // 시험 호출 권한이 남아 있어 다음 호출로 circuit 이 닫힌다
+        long recovered = guard.call(TYPE, "count", -1L, client -> 42L);
+        assertThat(recovered).isEqualTo(42L);
+        assertThat(guard.isCircuitOpen(TYPE)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Semaphore bulkhead() {
+        Map<ElasticsearchGuard.QueryType, Semaphore> bulkheads =
+                (Map<ElasticsearchGuard.QueryType, Semaphore>) ReflectionTestUtils.getField(guard, "bulkheads");
+        return bulkheads.get(TYPE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ot.security.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_staysWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 50_000;
+        for (int i = 0; i < distinct; i++) {
+            String ip = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+            sketch.add(ip);
+            sketch.add(ip);
+        }
+
+        double tolerance = distinct * sketch.relativeStandardError() * 3;
+        assertThat((double) sketch.estimate()).isCloseTo(distinct, within(tolerance));
+    }
+
+    @Test
+    void estimate_isExactForSmallSets() {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.add("192.168.0.1");
+        sketch.add("192.168.0.2");
+        sketch.add("192.168.0.1");
+
+        assertThat(sketch.estimate()).isEqualTo(2);
+    }
+
+    @Test
+    void merge_countsUnionOfSketches() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            first.add("172.16.0." + i);
+            second.add("172.16.0." + (i + 500));
+        }
+
+        first.merge(second);
+
+        assertThat((double) first.estimate()).isCloseTo(1500, within(1500 * first.relativeStandardError() * 3));
+    }
+}
@@ -0,0 +1,41 @@
+package com.ot.security.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void total_dropsBucketsThatLeaveEachWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(MINUTE, 10, 60);
+        long now = 1_000 * MINUTE;
+
+        counter.add(now - 30 * MINUTE, 3, now);   // 긴 윈도에만 포함
+        counter.add(now - 5 * MINUTE, 2, now);    // 두 윈도 모두 포함
+        counter.add(now, 1, now);
+
+        assertThat(counter.total(0, now)).isEqualTo(3);
+        assertThat(counter.total(1, now)).isEqualTo(6);
+
+        long later = now + 6 * MINUTE;            // 5분 전 버킷이 짧은 윈도 밖으로
+        assertThat(counter.total(0, later)).isEqualTo(1);
+        assertThat(counter.total(1, later)).isEqualTo(6);
+
+        long muchLater = now + 31 * MINUTE;       // 30분 전 버킷이 긴 윈도 밖으로
+        assertThat(counter.total(0, muchLater)).isZero();
+        assertThat(counter.total(1, muchLater)).isEqualTo(3);
+    }
+
+    @Test
+    void add_ignoresObservationsOlderThanLongestWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(MINUTE, 10, 60);
+        long now = 1_000 * MINUTE;
+
+        counter.add(now - 90 * MINUTE, 5, now);
+
+        assertThat(counter.total(1, now)).isZero();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ot.security.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void top_findsHeavyHittersWithinErrorBound() {
+        SpaceSaving sketch = new SpaceSaving(64);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("10.0.0." + (i % 500));   // 잡음: 항목당 20건
+            if (i % 10 == 0) {
+                sketch.add("192.168.0.1");       // 1000건
+            }
+            if (i % 20 == 0) {
+                sketch.add("192.168.0.2");       // 500건
+            }
+        }
+
+        List<SpaceSaving.Entry> top = sketch.top(2);
+
+        assertThat(top).extracting(SpaceSaving.Entry::key).containsExactly("192.168.0.1", "192.168.0.2");
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(1000);
+        assertThat(top.get(0).lowerBound()).isLessThanOrEqualTo(1000);
+        assertThat(top.get(0).error()).isLessThanOrEqualTo(sketch.getTotal() / 64);
+    }
+
+    @Test
+    void merge_addsCountsOfBothSketches() {
+        SpaceSaving first = new SpaceSaving(8);
+        SpaceSaving second = new SpaceSaving(8);
+        for (int i = 0; i < 30; i++) {
+            first.add("172.16.0.1");
+            second.add("172.16.0.1");
+            second.add("172.16.0.2");
+        }
+
+        first.merge(second);
+
+        List<SpaceSaving.Entry> top = first.top(2);
+        assertThat(top.get(0)).isEqualTo(new SpaceSaving.Entry("172.16.0.1", 60, 0));
+        assertThat(top.get(1)).isEqualTo(new SpaceSaving.Entry("172.16.0.2", 30, 0));
+        assertThat(first.getTotal()).isEqualTo(90);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ot.security.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_containsOnlyChangedFields() throws Exception {
+        ObjectNode previous = (ObjectNode) objectMapper.readTree(
+                "{\"totalPackets\":10,\"threatsByLevel\":{\"high\":1,\"low\":2},\"removed\":true,\"lastUpdate\":\"a\"}");
+        ObjectNode current = (ObjectNode) objectMapper.readTree(
+                "{\"totalPackets\":12,\"threatsByLevel\":{\"high\":1,\"low\":3},\"lastUpdate\":\"b\"}");
+
+        ObjectNode patch = JsonMergePatch.diff(previous, current, Set.of("lastUpdate"));
+
+        assertThat(patch).isEqualTo(objectMapper.readTree(
+                "{\"totalPackets\":12,\"threatsByLevel\":{\"low\":3},\"removed\":null,\"lastUpdate\":\"b\"}"));
+    }
+
+    @Test
+    void diff_returnsNullWhenOnlyIgnoredFieldsChanged() throws Exception {
+        ObjectNode previous = (ObjectNode) objectMapper.readTree("{\"totalPackets\":10,\"lastUpdate\":\"a\"}");
+        ObjectNode current = (ObjectNode) objectMapper.readTree("{\"totalPackets\":10,\"lastUpdate\":\"b\"}");
+
+        assertThat(JsonMergePatch.diff(previous, current, Set.of("lastUpdate"))).isNull();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ot.security.sse;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayBufferTest {
+
+    @Test
+    void since_returnsEventsAfterLastEventId() {
+        ReplayBuffer buffer = new ReplayBuffer(4, 100);
+        for (long id = 101; id <= 103; id++) {
+            buffer.append(message(id));
+        }
+
+        assertThat(buffer.covers(101)).isTrue();
+        assertThat(buffer.since(101)).extracting(SseMessage::id).containsExactly(102L, 103L);
+    }
+
+    @Test
+    void covers_isFalseOnceMissedEventsWereOverwritten() {
+        ReplayBuffer buffer = new ReplayBuffer(2, 100);
+        for (long id = 101; id <= 104; id++) {
+            buffer.append(message(id));
+        }
+
+        assertThat(buffer.covers(101)).isFalse();
+        assertThat(buffer.covers(102)).isTrue();
+        assertThat(buffer.since(101)).extracting(SseMessage::id).containsExactly(103L, 104L);
+        // 이전 프로세스가 발급한 id
+        assertThat(new ReplayBuffer(2, 100).covers(50)).isFalse();
+    }
+
+    private static SseMessage message(long id) {
+        return new SseMessage(id, "threat", new byte[0], DeliveryPolicy.RELIABLE);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ot.security.sse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SseFilterTest {
+
+    private static final EventAttributes PLC_WARNING =
+            new EventAttributes("warning", "ml", List.of("10.10.1.20", "10.20.0.5"), List.of("PLC-01"));
+
+    @Test
+    void matches_requiresEveryGivenDimension() {
+        SseFilter filter = SseFilter.of(List.of("WARNING", "critical"), null, List.of("PLC-01"),
+                List.of("10.10.0.0/16"), List.of("threat"));
+
+        assertThat(filter.matches("threat", PLC_WARNING)).isTrue();
+        assertThat(filter.matches("analysis", PLC_WARNING)).isFalse();
+        assertThat(filter.matches("threat",
+                new EventAttributes("attention", "ml", PLC_WARNING.ips(), PLC_WARNING.assets()))).isFalse();
+        assertThat(filter.matches("threat",
+                new EventAttributes("warning", "ml", List.of("192.168.0.1"), List.of("PLC-01")))).isFalse();
+    }
+
+    @Test
+    void matches_comparesAssetKeysIgnoringCaseAndWhitespace() {
+        SseFilter filter = SseFilter.of(null, null, List.of(" plc-01 "), null, null);
+
+        assertThat(filter.matches("threat", PLC_WARNING)).isTrue();
+        assertThat(filter.matches("threat",
+                new EventAttributes("warning", "ml", List.of("10.10.1.30"), List.of("HMI-01")))).isFalse();
+    }
+
+    @Test
+    void matches_passesDimensionsTheEventDoesNotCarry() {
+        SseFilter filter = SseFilter.of(List.of("critical"), List.of("dl"), null, null, null);
+
+        assertThat(filter.matches("analysis", EventAttributes.UNKNOWN)).isTrue();
+        assertThat(filter.matches("threat", PLC_WARNING)).isFalse();
+    }
+
+    @Test
+    void of_returnsNullWithoutConditionsAndRejectsBadCidr() {
+        assertThat(SseFilter.of(null, List.of(), null, null, List.of(" "))).isNull();
+        assertThatThrownBy(() -> SseFilter.of(null, null, null, List.of("10.0.0.0/33"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SseFilter.of(null, null, null, List.of("plc.local"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SseFilter.of(null, null, null, List.of("dead.beef"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SseFilter.of(null, null, null, List.of("10.1/8"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
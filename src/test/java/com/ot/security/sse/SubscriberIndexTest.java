@@ -0,0 +1,50 @@
+package com.ot.security.sse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriberIndexTest {
+
+    @Test
+    void forEachMatch_routesMixedCaseAssetsAndIpv6ToNormalizedKeys() {
+        SubscriberIndex index = new SubscriberIndex();
+        SseSubscriber byName = subscriber(SseFilter.of(null, null, List.of("plc-01"), null, null));
+        SseSubscriber byIpv6 = subscriber(SseFilter.of(null, null, List.of("FE80::1"), null, null));
+        SseSubscriber other = subscriber(SseFilter.of(null, null, List.of("HMI-01"), null, null));
+        index.add(byName);
+        index.add(byIpv6);
+        index.add(other);
+
+        assertThat(route(index, new EventAttributes("warning", "ml", List.of("10.0.0.5"), List.of(" PLC-01 "))))
+                .containsExactly(byName);
+        assertThat(route(index, new EventAttributes("warning", "ml", List.of("fe80::1"), List.of())))
+                .containsExactly(byIpv6);
+    }
+
+    @Test
+    void forEachMatch_routesSeverityAndEngineCaseInsensitively() {
+        SubscriberIndex index = new SubscriberIndex();
+        SseSubscriber critical = subscriber(SseFilter.of(List.of("warning"), null, null, null, null));
+        SseSubscriber dl = subscriber(SseFilter.of(null, List.of("dl"), null, null, null));
+        index.add(critical);
+        index.add(dl);
+
+        assertThat(route(index, new EventAttributes("WARNING", "DL", List.of(), List.of())))
+                .containsExactlyInAnyOrder(critical, dl);
+    }
+
+    private List<SseSubscriber> route(SubscriberIndex index, EventAttributes attributes) {
+        List<SseSubscriber> matched = new ArrayList<>();
+        index.forEachMatch("threat", attributes, matched::add);
+        return matched;
+    }
+
+    private SseSubscriber subscriber(SseFilter filter) {
+        return new SseSubscriber(EnumSet.of(SseTopic.THREATS), filter, 16, 3, null);
+    }
+}